@@ -25,22 +25,30 @@
 
 package io.github.portlek.bukkititembuilder;
 
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
+import io.github.portlek.bukkititembuilder.util.BannerLayers;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Function;
 import org.bukkit.DyeColor;
 import org.bukkit.block.banner.Pattern;
-import org.bukkit.block.banner.PatternType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.BannerMeta;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * a class that represents banner item builders.
+ * <p>
+ * serialization:
+ * <pre>
+ * patterns: string list (the banner's layers in order) (for 8 and newer versions)
+ *   - 'pattern identifier:dye color name'
+ * </pre>
+ * the legacy patterns section that maps the pattern names to the dye color names is still accepted on read.
  */
 public final class BannerItemBuilder extends Builder<BannerItemBuilder, BannerMeta> {
 
@@ -108,6 +116,19 @@ public final class BannerItemBuilder extends Builder<BannerItemBuilder, BannerMe
     return this.getSelf();
   }
 
+  /**
+   * adds patterns to the banner.
+   *
+   * @param patterns the patterns to add.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public BannerItemBuilder addPatterns(@NotNull final Collection<Pattern> patterns) {
+    patterns.forEach(this.getItemMeta()::addPattern);
+    return this.getSelf();
+  }
+
   @NotNull
   @Override
   public BannerItemBuilder getSelf() {
@@ -117,10 +138,8 @@ public final class BannerItemBuilder extends Builder<BannerItemBuilder, BannerMe
   @Override
   public void serialize(@NotNull final KeyUtil.Holder<?> holder) {
     super.serialize(holder);
-    final var patterns = new HashMap<String, Object>();
-    this.getItemMeta().getPatterns()
-      .forEach(pattern -> patterns.put(pattern.getPattern().name(), pattern.getColor().name()));
-    holder.addAsMap(KeyUtil.PATTERNS_KEY, patterns, String.class, Object.class);
+    holder.addAsCollection(KeyUtil.PATTERNS_KEY, BannerLayers.serialize(this.getItemMeta().getPatterns()),
+      String.class);
   }
 
   /**
@@ -198,30 +217,46 @@ public final class BannerItemBuilder extends Builder<BannerItemBuilder, BannerMe
     @NotNull
     @Override
     public Optional<BannerItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_BANNER, BannerItemBuilder.class, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public BannerItemBuilder apply(@NotNull final BannerItemBuilder builder, @NotNull final KeyUtil.Holder<?> holder) {
+      final var layers = holder.getAsList(KeyUtil.PATTERNS_KEY, String.class);
+      if (layers.isPresent()) {
+        builder.addPatterns(BannerLayers.parse(layers.get()));
+      } else {
+        holder.getAsMap(KeyUtil.PATTERNS_KEY, String.class, Object.class)
+          .map(BannerLayers::parseLegacy)
+          .ifPresent(builder::addPatterns);
+      }
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the banner item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized banner item builder.
+     */
+    @NotNull
+    private Optional<BannerItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       final var itemStack = Builder.getItemStackDeserializer().apply(holder);
       if (itemStack.isEmpty()) {
         return Optional.empty();
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asBanner();
-      holder.getAsMap(KeyUtil.PATTERNS_KEY, String.class, Object.class)
-        .ifPresent(patterns -> patterns.forEach((key, value) -> {
-          var type = PatternType.getByIdentifier(key);
-          if (type == null) {
-            try {
-              type = PatternType.valueOf(key.toUpperCase(Locale.ENGLISH));
-            } catch (final Exception e) {
-              type = PatternType.BASE;
-            }
-          }
-          DyeColor color;
-          try {
-            color = DyeColor.valueOf(String.valueOf(value).toUpperCase(Locale.ENGLISH));
-          } catch (final Exception e) {
-            color = DyeColor.WHITE;
-          }
-          builder.addPatterns(new Pattern(color, type));
-        }));
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asBanner(), holder));
     }
   }
 }
@@ -25,13 +25,21 @@
 
 package io.github.portlek.bukkititembuilder;
 
+import io.github.portlek.bukkititembuilder.color.XColor;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.BookMeta;
 import org.jetbrains.annotations.NotNull;
@@ -60,6 +68,11 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
    */
   private static final Deserializer DESERIALIZER = new Deserializer();
 
+  /**
+   * the page chunk size of the serialization.
+   */
+  private static final int PAGE_CHUNK_SIZE = 16;
+
   /**
    * ctor.
    *
@@ -119,6 +132,67 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
     return this.getSelf();
   }
 
+  /**
+   * adds pages to the book lazily.
+   * <p>
+   * the pages are supplied and colorized one by one, so the pages are never held as a list.
+   *
+   * @param count the page count to add.
+   * @param supplier the supplier to add, takes 0-based index of the supplied page.
+   * @param colored the colored to add.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public BookItemBuilder addPages(final int count, @NotNull final IntFunction<String> supplier,
+                                  final boolean colored) {
+    final var itemMeta = this.getItemMeta();
+    for (var index = 0; index < count; index++) {
+      final var page = supplier.apply(index);
+      itemMeta.addPage(colored ? XColor.colorize(page) : page);
+    }
+    return this.getSelf();
+  }
+
+  /**
+   * obtains the page count of the book.
+   *
+   * @return page count.
+   */
+  public int getPageCount() {
+    return this.getItemMeta().getPageCount();
+  }
+
+  /**
+   * obtains a view of the given page range of the book.
+   * <p>
+   * the view reads the pages from the book on access, so only the read pages are converted to string.
+   *
+   * @param from the 1-based first page, inclusive.
+   * @param to the 1-based last page, inclusive.
+   *
+   * @return an unmodifiable page range view.
+   *
+   * @throws IndexOutOfBoundsException if the range is out of the book's pages.
+   */
+  @NotNull
+  public List<String> getPages(final int from, final int to) {
+    final var itemMeta = this.getItemMeta();
+    Objects.checkFromToIndex(from - 1, to, itemMeta.getPageCount());
+    return new AbstractList<>() {
+      @Override
+      public String get(final int index) {
+        Objects.checkIndex(index, this.size());
+        return itemMeta.getPage(from + index);
+      }
+
+      @Override
+      public int size() {
+        return to - from + 1;
+      }
+    };
+  }
+
   @NotNull
   @Override
   public BookItemBuilder getSelf() {
@@ -142,10 +216,30 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
         book.put(KeyUtil.GENERATION_KEY, generation.toString());
       }
     }
-    book.put(KeyUtil.PAGES_KEY, itemMeta.getPages());
+    final var pages = new ArrayList<String>(this.getPageCount());
+    this.serializePages(BookItemBuilder.PAGE_CHUNK_SIZE, pages::addAll);
+    book.put(KeyUtil.PAGES_KEY, pages);
     holder.addAsMap(KeyUtil.BOOKS_KEY, book, String.class, Object.class);
   }
 
+  /**
+   * serializes the pages of the book in batches.
+   * <p>
+   * each batch is a page range view, see {@link #getPages(int, int)}, so the whole book is never materialized.
+   *
+   * @param chunkSize the chunk size to serialize.
+   * @param writer the writer to serialize.
+   */
+  public void serializePages(final int chunkSize, @NotNull final Consumer<List<String>> writer) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive!");
+    }
+    final var count = this.getPageCount();
+    for (var from = 1; from <= count; from += chunkSize) {
+      writer.accept(this.getPages(from, Math.min(from + chunkSize - 1, count)));
+    }
+  }
+
   /**
    * sets author of the book.
    *
@@ -188,6 +282,22 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
     return this.getSelf();
   }
 
+  /**
+   * sets page of the book.
+   * <p>
+   * only the given page is colorized, the other pages are not touched.
+   *
+   * @param page the 1-based page to set.
+   * @param text the text to set.
+   * @param colored the colored to set.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public BookItemBuilder setPage(final int page, @NotNull final String text, final boolean colored) {
+    return this.setPage(page, colored ? XColor.colorize(text) : text);
+  }
+
   /**
    * sets pages of the book.
    *
@@ -213,6 +323,24 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
     return this.getSelf();
   }
 
+  /**
+   * sets pages of the book lazily.
+   *
+   * @param count the page count to set.
+   * @param supplier the supplier to set, takes 0-based index of the supplied page.
+   * @param colored the colored to set.
+   *
+   * @return {@code this} for builder chain.
+   *
+   * @see #addPages(int, IntFunction, boolean)
+   */
+  @NotNull
+  public BookItemBuilder setPages(final int count, @NotNull final IntFunction<String> supplier,
+                                  final boolean colored) {
+    this.getItemMeta().setPages(Collections.emptyList());
+    return this.addPages(count, supplier, colored);
+  }
+
   /**
    * sets title of the book.
    *
@@ -235,11 +363,21 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
     @NotNull
     @Override
     public Optional<BookItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
-      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
-      if (itemStack.isEmpty()) {
-        return Optional.empty();
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_BOOK, BookItemBuilder.class, holder)) {
+        return this.deserialize(holder);
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asBook();
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public BookItemBuilder apply(@NotNull final BookItemBuilder builder, @NotNull final KeyUtil.Holder<?> holder) {
       holder.getAsMap(KeyUtil.BOOKS_KEY, String.class, Object.class)
         .ifPresent(book -> {
           final var title = Optional.ofNullable(book.get(KeyUtil.TITLE_KEY))
@@ -252,11 +390,11 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
             .orElse(null);
           final var pages = Optional.ofNullable(book.get(KeyUtil.PAGES_KEY))
             .filter(List.class::isInstance)
-            .map(object -> (List<String>) object)
+            .map(object -> (List<?>) object)
             .orElse(Collections.emptyList());
           builder.setTitle(title);
           builder.setAuthor(author);
-          builder.setPages(pages);
+          builder.setPages(pages.size(), index -> String.valueOf(pages.get(index)), false);
           if (Builder.VERSION >= 10) {
             Optional.ofNullable(book.get(KeyUtil.GENERATION_KEY))
               .filter(String.class::isInstance)
@@ -272,7 +410,23 @@ public final class BookItemBuilder extends Builder<BookItemBuilder, BookMeta> {
               });
           }
         });
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the book item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized book item builder.
+     */
+    @NotNull
+    private Optional<BookItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
+      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
+      if (itemStack.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asBook(), holder));
     }
   }
 }
@@ -34,6 +34,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.BannerMeta;
 import org.bukkit.inventory.meta.BookMeta;
 import org.bukkit.inventory.meta.CrossbowMeta;
+import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.FireworkMeta;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
@@ -58,7 +59,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
    */
   @NotNull
   default BannerItemBuilder asBanner() {
-    return new BannerItemBuilder(this.validateMeta(BannerMeta.class), this.getItemStack());
+    return new BannerItemBuilder(this.validateMeta(BannerMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -68,7 +69,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
    */
   @NotNull
   default BookItemBuilder asBook() {
-    return new BookItemBuilder(this.validateMeta(BookMeta.class), this.getItemStack());
+    return new BookItemBuilder(this.validateMeta(BookMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -83,7 +84,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
     if (Builder.VERSION < 14) {
       throw new IllegalStateException("This method is for only 14 and newer versions!");
     }
-    return new CrossbowItemBuilder(this.validateMeta(CrossbowMeta.class), this.getItemStack());
+    return new CrossbowItemBuilder(this.validateMeta(CrossbowMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -93,7 +94,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
    */
   @NotNull
   default FireworkItemBuilder asFirework() {
-    return new FireworkItemBuilder(this.validateMeta(FireworkMeta.class), this.getItemStack());
+    return new FireworkItemBuilder(this.validateMeta(FireworkMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -103,7 +104,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
    */
   @NotNull
   default LeatherArmorItemBuilder asLeatherArmor() {
-    return new LeatherArmorItemBuilder(this.validateMeta(LeatherArmorMeta.class), this.getItemStack());
+    return new LeatherArmorItemBuilder(this.validateMeta(LeatherArmorMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -113,7 +114,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
    */
   @NotNull
   default MapItemBuilder asMap() {
-    return new MapItemBuilder(this.validateMeta(MapMeta.class), this.getItemStack());
+    return new MapItemBuilder(this.validateMeta(MapMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -123,7 +124,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
    */
   @NotNull
   default PotionItemBuilder asPotion() {
-    return new PotionItemBuilder(this.validateMeta(PotionMeta.class), this.getItemStack());
+    return new PotionItemBuilder(this.validateMeta(PotionMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -133,7 +134,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
    */
   @NotNull
   default SkullItemBuilder asSkull() {
-    return new SkullItemBuilder(this.validateMeta(SkullMeta.class), this.getItemStack());
+    return new SkullItemBuilder(this.validateMeta(SkullMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -146,7 +147,7 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
     if (Builder.VERSION < 11) {
       throw new IllegalStateException("This method is for only 11 and newer versions!");
     }
-    return new SpawnEggItemBuilder(this.validateMeta(SpawnEggMeta.class), this.getItemStack());
+    return new SpawnEggItemBuilder(this.validateMeta(SpawnEggMeta.class), this.getItemStack(false));
   }
 
   /**
@@ -295,17 +296,29 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
 
   /**
    * serializes the {@link #getItemStack()} into a map.
+   * <p>
+   * the item meta is read from {@link #getItemMeta()} instead of the item stack, so the serialization does not fetch
+   * a new item meta and can run off the main thread on a snapshot.
    *
    * @param holder the holder to serialize.
    */
   default void serialize(@NotNull final KeyUtil.Holder<?> holder) {
-    final var itemStack = this.getItemStack();
+    final var itemStack = this.getItemStack(false);
+    final var itemMeta = this.getItemMeta();
     holder.add(KeyUtil.MATERIAL_KEY, itemStack.getType().toString(), String.class);
     if (itemStack.getAmount() != 1) {
       holder.add(KeyUtil.AMOUNT_KEY, itemStack.getAmount(), int.class);
     }
-    if ((int) itemStack.getDurability() != 0) {
-      holder.add(KeyUtil.DAMAGE_KEY, itemStack.getDurability(), short.class);
+    final short durability;
+    if (Builder.VERSION < 13) {
+      durability = itemStack.getDurability();
+    } else if (itemMeta instanceof Damageable) {
+      durability = (short) ((Damageable) itemMeta).getDamage();
+    } else {
+      durability = 0;
+    }
+    if ((int) durability != 0) {
+      holder.add(KeyUtil.DAMAGE_KEY, durability, short.class);
     }
     if (Builder.VERSION < 13) {
       Optional.ofNullable(itemStack.getData())
@@ -313,20 +326,18 @@ public interface Buildable<X extends Buildable<X, T>, T extends ItemMeta> {
         .ifPresent(materialData ->
           holder.add(KeyUtil.DATA_KEY, materialData.getData(), byte.class));
     }
-    Optional.ofNullable(itemStack.getItemMeta()).ifPresent(itemMeta -> {
-      if (itemMeta.hasDisplayName()) {
-        holder.add(KeyUtil.DISPLAY_NAME_KEY, XColor.deColorize(itemMeta.getDisplayName()), String.class);
-      }
-      Optional.ofNullable(itemMeta.getLore()).ifPresent(lore ->
-        holder.addAsCollection(KeyUtil.LORE_KEY, XColor.deColorize(lore), String.class));
-      final var flags = itemMeta.getItemFlags();
-      if (!flags.isEmpty()) {
-        holder.addAsCollection(KeyUtil.FLAG_KEY, flags.stream()
-          .map(Enum::name)
-          .collect(Collectors.toList()), String.class);
-      }
-    });
-    final var enchants = itemStack.getEnchantments();
+    if (itemMeta.hasDisplayName()) {
+      holder.add(KeyUtil.DISPLAY_NAME_KEY, XColor.deColorize(itemMeta.getDisplayName()), String.class);
+    }
+    Optional.ofNullable(itemMeta.getLore()).ifPresent(lore ->
+      holder.addAsCollection(KeyUtil.LORE_KEY, XColor.deColorize(lore), String.class));
+    final var flags = itemMeta.getItemFlags();
+    if (!flags.isEmpty()) {
+      holder.addAsCollection(KeyUtil.FLAG_KEY, flags.stream()
+        .map(Enum::name)
+        .collect(Collectors.toList()), String.class);
+    }
+    final var enchants = itemMeta.getEnchants();
     if (!enchants.isEmpty()) {
       final var enchantments = new HashMap<String, Integer>();
       enchants.forEach((enchantment, integer) ->
@@ -25,14 +25,16 @@
 
 package io.github.portlek.bukkititembuilder;
 
-import com.cryptomorin.xseries.SkullUtils;
 import com.cryptomorin.xseries.XEnchantment;
 import com.cryptomorin.xseries.XMaterial;
 import com.google.common.collect.Multimap;
 import io.github.bananapuncher714.nbteditor.NBTEditor;
 import io.github.portlek.bukkititembuilder.color.XColor;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.bukkititembuilder.util.ItemStackUtil;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import io.github.portlek.bukkititembuilder.util.SkullTextureCache;
 import io.github.portlek.bukkitversion.BukkitVersion;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -70,8 +72,15 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
 
   /**
    * the bukkit version.
+   * <p>
+   * the version is detected from the running server unless the {@link #VERSION_PROPERTY} system property is set.
    */
-  public static final int VERSION = new BukkitVersion().getMinor();
+  public static final int VERSION = Builder.detectVersion();
+
+  /**
+   * the system property that overrides the detected minor bukkit version, e.g. {@code 16}.
+   */
+  public static final String VERSION_PROPERTY = "bukkititembuilder.version";
 
   /**
    * the item stack deserializer.
@@ -96,6 +105,19 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
   @NotNull
   private ItemStack itemStack;
 
+  /**
+   * detects the minor bukkit version.
+   *
+   * @return minor bukkit version.
+   */
+  private static int detectVersion() {
+    final var version = Integer.getInteger(Builder.VERSION_PROPERTY);
+    if (version != null) {
+      return version;
+    }
+    return new BukkitVersion().getMinor();
+  }
+
   /**
    * creates a new item meta deserializer.
    *
@@ -171,9 +193,9 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
    */
   @NotNull
   public final X addCustomData(@NotNull final Object value, @NotNull final Object... keys) {
-    final var compound = NBTEditor.getNBTCompound(this.itemStack);
-    compound.set(value, "tag", keys);
-    return this.setItemStack(NBTEditor.getItemFromTag(compound));
+    try (final var ignored = Metrics.start(Phase.CUSTOM_DATA, this)) {
+      return this.applyCustomData(value, keys);
+    }
   }
 
   /**
@@ -187,24 +209,9 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
    */
   @NotNull
   public final X addEnchantments(@NotNull final String... enchantments) {
-    for (final var enchantmentString : enchantments) {
-      final var split = enchantmentString.split(":");
-      final var level = new AtomicInteger();
-      final String enchantment;
-      if (split.length == 1) {
-        enchantment = split[0];
-        level.set(1);
-      } else {
-        enchantment = split[0];
-        try {
-          level.set(Integer.parseInt(split[1]));
-        } catch (final NumberFormatException ignored) {
-        }
-      }
-      XEnchantment.matchXEnchantment(enchantment).ifPresent(xEnchantment ->
-        this.addEnchantments(xEnchantment, level.get()));
+    try (final var ignored = Metrics.start(Phase.ENCHANT, this)) {
+      return this.applyEnchantments(enchantments);
     }
-    return this.getSelf();
   }
 
   /**
@@ -391,11 +398,22 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
    */
   @NotNull
   public final X addSerializedEnchantments(@NotNull final Map<String, Integer> enchantments) {
-    enchantments.forEach((enchantmentString, level) ->
-      XEnchantment.matchXEnchantment(String.valueOf(enchantmentString))
-        .flatMap(enchant -> Optional.ofNullable(enchant.parseEnchantment()))
-        .ifPresent(enchantment -> this.addEnchantments(enchantment, level)));
-    return this.getSelf();
+    try (final var ignored = Metrics.start(Phase.ENCHANT, this)) {
+      return this.applySerializedEnchantments(enchantments);
+    }
+  }
+
+  /**
+   * adds the text to the lore of the item, wrapped by {@link XColor#wrap(String, int)}.
+   *
+   * @param text the text to add.
+   * @param width the maximum visible width of the lines.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public final X addWrappedLore(@NotNull final String text, final int width) {
+    return this.addLore(XColor.wrap(text, width), false);
   }
 
   /**
@@ -549,11 +567,9 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
   @NotNull
   @Override
   public final ItemStack getItemStack(final boolean update) {
-    if (update &&
-      !Objects.equals(this.itemStack.getItemMeta(), this.itemMeta)) {
-      this.itemStack.setItemMeta(this.itemMeta);
+    try (final var ignored = Metrics.start(Phase.GET_ITEM_STACK, this)) {
+      return this.updateItemStack(update);
     }
-    return this.itemStack;
   }
 
   /**
@@ -711,6 +727,116 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
     return this.getSelf();
   }
 
+  /**
+   * sets the text as the lore of the item, wrapped by {@link XColor#wrap(String, int)}.
+   *
+   * @param text the text to set.
+   * @param width the maximum visible width of the lines.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public final X setWrappedLore(@NotNull final String text, final int width) {
+    return this.setLore(XColor.wrap(text, width), false);
+  }
+
+  /**
+   * adds custom data to the item.
+   *
+   * @param value the value to add.
+   * @param keys the keys to add.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  private X applyCustomData(@NotNull final Object value, @NotNull final Object... keys) {
+    final var compound = NBTEditor.getNBTCompound(this.itemStack);
+    compound.set(value, "tag", keys);
+    return this.setItemStack(NBTEditor.getItemFromTag(compound));
+  }
+
+  /**
+   * adds unsafe enchantments to the item.
+   *
+   * @param enchantments the enchantments to add.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  private X applyEnchantments(@NotNull final String... enchantments) {
+    for (final var enchantmentString : enchantments) {
+      final var split = enchantmentString.split(":");
+      final var level = new AtomicInteger();
+      final String enchantment;
+      if (split.length == 1) {
+        enchantment = split[0];
+        level.set(1);
+      } else {
+        enchantment = split[0];
+        try {
+          level.set(Integer.parseInt(split[1]));
+        } catch (final NumberFormatException ignored) {
+        }
+      }
+      XEnchantment.matchXEnchantment(enchantment).ifPresent(xEnchantment ->
+        this.addEnchantments(xEnchantment, level.get()));
+    }
+    return this.getSelf();
+  }
+
+  /**
+   * adds serialized unsafe enchantments to the item.
+   *
+   * @param enchantments the enchantments to add.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  private X applySerializedEnchantments(@NotNull final Map<String, Integer> enchantments) {
+    enchantments.forEach((enchantmentString, level) ->
+      XEnchantment.matchXEnchantment(String.valueOf(enchantmentString))
+        .flatMap(enchant -> Optional.ofNullable(enchant.parseEnchantment()))
+        .ifPresent(enchantment -> this.addEnchantments(enchantment, level)));
+    return this.getSelf();
+  }
+
+  /**
+   * fetches the item meta of the item stack.
+   *
+   * @return item meta of the item stack.
+   */
+  @Nullable
+  private ItemMeta fetchItemMeta() {
+    try (final var ignored = Metrics.start(Phase.META_FETCH, this)) {
+      return this.itemStack.getItemMeta();
+    }
+  }
+
+  /**
+   * updates the item stack with the item meta, if the update is requested and the item meta changed.
+   *
+   * @param update the update to check.
+   *
+   * @return item stack.
+   */
+  @NotNull
+  private ItemStack updateItemStack(final boolean update) {
+    if (update &&
+      !Objects.equals(this.fetchItemMeta(), this.itemMeta)) {
+      this.writeBackItemMeta();
+    }
+    return this.itemStack;
+  }
+
+  /**
+   * writes the item meta back to the item stack.
+   */
+  private void writeBackItemMeta() {
+    try (final var ignored = Metrics.start(Phase.META_WRITE_BACK, this)) {
+      this.itemStack.setItemMeta(this.itemMeta);
+    }
+  }
+
   /**
    * a class that represents default deserializer of {@link ItemMeta}.
    *
@@ -730,13 +856,16 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
     @Override
     public B apply(@NotNull final KeyUtil.Holder<?> holder) {
       final var itemStack = this.builder.getItemStack(false);
-      final var itemMeta = itemStack.getItemMeta();
+      final ItemMeta itemMeta;
+      try (final var ignored = Metrics.start(Phase.META_FETCH, this.builder)) {
+        itemMeta = itemStack.getItemMeta();
+      }
       if (itemMeta == null) {
         return this.builder;
       }
       if (itemMeta instanceof SkullMeta) {
         holder.get(KeyUtil.SKULL_TEXTURE_KEY, String.class).ifPresent(s ->
-          SkullUtils.applySkin(itemMeta, s));
+          SkullTextureCache.apply((SkullMeta) itemMeta, s));
       }
       holder.get(KeyUtil.DISPLAY_NAME_KEY, String.class)
         .map(XColor::colorize)
@@ -762,6 +891,20 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
     @NotNull
     @Override
     public Optional<ItemStack> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_ITEM_STACK, null, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the item stack.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized item stack.
+     */
+    @NotNull
+    private Optional<ItemStack> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       final var materialOptional = holder.get(KeyUtil.MATERIAL_KEY, String.class)
         .flatMap(ItemStackUtil::parseMaterial);
       if (materialOptional.isEmpty()) {
@@ -796,6 +939,20 @@ public abstract class Builder<X extends Builder<X, T>, T extends ItemMeta> imple
     @NotNull
     @Override
     public Optional<ItemStackBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_SIMPLE_ITEM_STACK, ItemStackBuilder.class, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the item stack builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized item stack builder.
+     */
+    @NotNull
+    private Optional<ItemStackBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       final var materialOptional = holder.get(KeyUtil.MATERIAL_KEY, String.class)
         .flatMap(ItemStackUtil::parseMaterial);
       if (materialOptional.isEmpty()) {
@@ -25,14 +25,17 @@
 
 package io.github.portlek.bukkititembuilder;
 
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.bukkititembuilder.util.ItemStackUtil;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.CrossbowMeta;
 import org.jetbrains.annotations.NotNull;
@@ -46,6 +49,9 @@ import org.jetbrains.annotations.Nullable;
  * projectiles: (main section)
  *   0: (item section)
  *     material: DIAMOND
+ *
+ *   1: (reference section, the projectile is identical to a previous projectile)
+ *     ref: 0
  * </pre>
  */
 public final class CrossbowItemBuilder extends Builder<CrossbowItemBuilder, CrossbowMeta> {
@@ -128,12 +134,18 @@ public final class CrossbowItemBuilder extends Builder<CrossbowItemBuilder, Cros
     super.serialize(holder);
     final var projectiles = new HashMap<String, Object>();
     final var chargedProjectiles = this.getItemMeta().getChargedProjectiles();
-    IntStream.range(0, chargedProjectiles.size()).forEach(index -> {
+    final var indexes = new HashMap<ItemStack, Integer>();
+    for (var index = 0; index < chargedProjectiles.size(); index++) {
       final var projectile = chargedProjectiles.get(index);
+      final var reference = indexes.putIfAbsent(projectile, index);
+      if (reference != null) {
+        projectiles.put(String.valueOf(index), Map.of(KeyUtil.REFERENCE_KEY, reference));
+        continue;
+      }
       final var section = KeyUtil.Holder.map(new HashMap<>());
       ItemStackUtil.serialize(ItemStackBuilder.from(projectile), section);
       projectiles.put(String.valueOf(index), section.getHolder());
-    });
+    }
     holder.addAsMap(KeyUtil.PROJECTILES_KEY, projectiles, String.class, Object.class);
   }
 
@@ -171,19 +183,83 @@ public final class CrossbowItemBuilder extends Builder<CrossbowItemBuilder, Cros
     @NotNull
     @Override
     public Optional<CrossbowItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_CROSSBOW, CrossbowItemBuilder.class, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public CrossbowItemBuilder apply(@NotNull final CrossbowItemBuilder builder,
+                                     @NotNull final KeyUtil.Holder<?> holder) {
+      holder.getAsMap(KeyUtil.PROJECTILES_KEY, String.class, Object.class)
+        .map(Deserializer::deserialize)
+        .ifPresent(builder::setChargedProjectiles);
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the crossbow item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized crossbow item builder.
+     */
+    @NotNull
+    private Optional<CrossbowItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       final var itemStack = Builder.getItemStackDeserializer().apply(holder);
       if (itemStack.isEmpty()) {
         return Optional.empty();
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asCrossbow();
-      final var collect = holder.getAsMap(KeyUtil.PROJECTILES_KEY, String.class, Object.class)
-        .stream()
-        .map(KeyUtil.Holder::map)
-        .map(ItemStackUtil::deserialize)
-        .flatMap(Optional::stream)
-        .collect(Collectors.toList());
-      builder.setChargedProjectiles(collect);
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asCrossbow(), holder));
+    }
+
+    /**
+     * deserializes the given projectiles section in index order.
+     * <p>
+     * the reference sections reuse the item stack that is decoded for the referenced index, only the references to
+     * previous indexes are resolved, so the references cannot form a cycle.
+     *
+     * @param projectiles the projectiles to deserialize.
+     *
+     * @return deserialized projectiles.
+     */
+    @NotNull
+    private static List<ItemStack> deserialize(@NotNull final Map<String, Object> projectiles) {
+      final var sections = new TreeMap<Integer, Map<String, Object>>();
+      projectiles.forEach((key, value) -> {
+        if (!(value instanceof Map<?, ?>)) {
+          return;
+        }
+        try {
+          sections.put(Integer.parseInt(key), (Map<String, Object>) value);
+        } catch (final NumberFormatException ignored) {
+        }
+      });
+      final var decoded = new HashMap<Integer, ItemStack>();
+      final var result = new ArrayList<ItemStack>(sections.size());
+      sections.forEach((index, section) -> {
+        final var reference = section.get(KeyUtil.REFERENCE_KEY);
+        final ItemStack projectile;
+        if (reference instanceof Number) {
+          final var referenceIndex = ((Number) reference).intValue();
+          projectile = referenceIndex < index ? decoded.get(referenceIndex) : null;
+        } else {
+          projectile = ItemStackUtil.deserialize(KeyUtil.Holder.map(section)).orElse(null);
+        }
+        if (projectile != null) {
+          decoded.put(index, projectile);
+          result.add(projectile);
+        }
+      });
+      return result;
     }
   }
 }
@@ -25,13 +25,13 @@
 
 package io.github.portlek.bukkititembuilder;
 
-import com.cryptomorin.xseries.XItemStack;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
+import io.github.portlek.bukkititembuilder.util.ColorUtil;
+import io.github.portlek.bukkititembuilder.util.FireworkEffectPool;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -58,10 +58,10 @@ import org.jetbrains.annotations.NotNull;
  *     trail: boolean (the effect has trail or not) (for 8 and newer versions)
  *
  *     colors: (colors section)
- *       base: string list (the effect's base colors) (for 8 and newer versions)
+ *       base: color list (the effect's base colors, see {@link ColorUtil}) (for 8 and newer versions)
  *         - 'red, green, blue'
  *
- *       fade: string list (the effect's fade colors) (for 8 and newer versions)
+ *       fade: color list (the effect's fade colors, see {@link ColorUtil}) (for 8 and newer versions)
  *         - 'red, green, blue'
  * </pre>
  */
@@ -191,10 +191,10 @@ public final class FireworkItemBuilder extends Builder<FireworkItemBuilder, Fire
       final var fwFadeColors = effect.getFadeColors();
       final var colors = new HashMap<>();
       final var baseColors = fwBaseColors.stream()
-        .map(color -> String.format("%d, %d, %d", color.getRed(), color.getGreen(), color.getBlue()))
+        .map(ColorUtil::serialize)
         .collect(Collectors.toCollection(() -> new ArrayList<>(fwBaseColors.size())));
       final var fadeColors = fwFadeColors.stream()
-        .map(color -> String.format("%d, %d, %d", color.getRed(), color.getGreen(), color.getBlue()))
+        .map(ColorUtil::serialize)
         .collect(Collectors.toCollection(() -> new ArrayList<>(fwFadeColors.size())));
       colors.put(KeyUtil.BASE_KEY, baseColors);
       colors.put(KeyUtil.FADE_KEY, fadeColors);
@@ -239,65 +239,45 @@ public final class FireworkItemBuilder extends Builder<FireworkItemBuilder, Fire
     @NotNull
     @Override
     public Optional<FireworkItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
-      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
-      if (itemStack.isEmpty()) {
-        return Optional.empty();
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_FIREWORK, FireworkItemBuilder.class, holder)) {
+        return this.deserialize(holder);
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asFirework();
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public FireworkItemBuilder apply(@NotNull final FireworkItemBuilder builder,
+                                     @NotNull final KeyUtil.Holder<?> holder) {
       final var power = holder.get(KeyUtil.POWER_KEY, int.class)
         .orElse(1);
       builder.setPower(power);
       holder.getAsMap(KeyUtil.FIREWORK_KEY, String.class, Map.class)
-        .ifPresent(firework -> {
-          final var fireworkBuilder = FireworkEffect.builder();
-          firework.forEach((key, value) -> {
-            final var flicker = Optional.ofNullable(value.get(KeyUtil.FLICKER_KEY))
-              .filter(Boolean.class::isInstance)
-              .map(Boolean.class::cast)
-              .orElse(false);
-            final var trail = Optional.ofNullable(value.get(KeyUtil.TRAIL_KEY))
-              .filter(Boolean.class::isInstance)
-              .map(Boolean.class::cast)
-              .orElse(false);
-            final var type = Optional.ofNullable(value.get(KeyUtil.TYPE_KEY))
-              .filter(String.class::isInstance)
-              .map(String.class::cast)
-              .map(s -> s.toUpperCase(Locale.ROOT));
-            FireworkEffect.Type effectType;
-            try {
-              effectType = type.map(FireworkEffect.Type::valueOf)
-                .orElse(FireworkEffect.Type.STAR);
-            } catch (final Exception e) {
-              effectType = FireworkEffect.Type.STAR;
-            }
-            fireworkBuilder.flicker(flicker)
-              .trail(trail)
-              .with(effectType);
-            Optional.ofNullable(value.get(KeyUtil.COLORS_KEY))
-              .filter(Map.class::isInstance)
-              .map(object -> (Map<String, Object>) object)
-              .ifPresent(colorSection -> {
-                final var baseColors = Optional.ofNullable(colorSection.get(KeyUtil.BASE_KEY))
-                  .filter(Collection.class::isInstance)
-                  .map(object -> (Collection<String>) object)
-                  .map(strings -> strings.stream()
-                    .map(XItemStack::parseColor)
-                    .collect(Collectors.toSet()))
-                  .orElse(Collections.emptySet());
-                final var fadeColors = Optional.ofNullable(colorSection.get(KeyUtil.BASE_KEY))
-                  .filter(Collection.class::isInstance)
-                  .map(object -> (Collection<String>) object)
-                  .map(strings -> strings.stream()
-                    .map(XItemStack::parseColor)
-                    .collect(Collectors.toSet()))
-                  .orElse(Collections.emptySet());
-                fireworkBuilder.withColor(baseColors);
-                fireworkBuilder.withFade(fadeColors);
-              });
-            builder.addEffect(fireworkBuilder.build());
-          });
-        });
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+        .ifPresent(firework -> firework.values().forEach(value ->
+          builder.addEffect(FireworkEffectPool.parse(value))));
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the firework item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized firework item builder.
+     */
+    @NotNull
+    private Optional<FireworkItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
+      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
+      if (itemStack.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asFirework(), holder));
     }
   }
 }
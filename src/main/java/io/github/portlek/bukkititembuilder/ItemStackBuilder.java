@@ -27,6 +27,8 @@ package io.github.portlek.bukkititembuilder;
 
 import com.cryptomorin.xseries.XMaterial;
 import io.github.bananapuncher714.nbteditor.NBTEditor;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
 import java.util.Objects;
 import java.util.Optional;
@@ -74,8 +76,21 @@ public final class ItemStackBuilder extends Builder<ItemStackBuilder, ItemMeta>
    * @param itemStack the item stack.
    */
   private ItemStackBuilder(@NotNull final ItemStack itemStack) {
-    super(Objects.requireNonNull(itemStack.getItemMeta(), String.format("ItemMeta of %s couldn't get!", itemStack)),
-      itemStack);
+    super(ItemStackBuilder.fetchMeta(itemStack), itemStack);
+  }
+
+  /**
+   * fetches the meta of the given item stack.
+   *
+   * @param itemStack the item stack to fetch.
+   *
+   * @return item meta of the item stack.
+   */
+  @NotNull
+  private static ItemMeta fetchMeta(@NotNull final ItemStack itemStack) {
+    try (final var ignored = Metrics.start(Phase.META_FETCH, ItemStackBuilder.class)) {
+      return Objects.requireNonNull(itemStack.getItemMeta(), String.format("ItemMeta of %s couldn't get!", itemStack));
+    }
   }
 
   /**
@@ -169,6 +184,20 @@ public final class ItemStackBuilder extends Builder<ItemStackBuilder, ItemMeta>
     @NotNull
     @Override
     public Optional<ItemStackBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_ITEM_STACK_BUILDER, ItemStackBuilder.class, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the item stack builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized item stack builder.
+     */
+    @NotNull
+    private Optional<ItemStackBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       return Builder.getItemStackDeserializer().apply(holder)
         .map(ItemStackBuilder::from)
         .map(Builder::getItemMetaDeserializer)
@@ -25,7 +25,9 @@
 
 package io.github.portlek.bukkititembuilder;
 
-import com.cryptomorin.xseries.XItemStack;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
+import io.github.portlek.bukkititembuilder.util.ColorUtil;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
 import java.util.Optional;
 import java.util.function.Function;
@@ -40,7 +42,7 @@ import org.jetbrains.annotations.Nullable;
  * <p>
  * serialization:
  * <pre>
- * color: 'red, green, blue' (leather's color) (for 8 and newer versions)
+ * color: 'red, green, blue', '#rrggbb' or integer (leather's color, see {@link ColorUtil}) (for 8 and newer versions)
  * </pre>
  */
 public final class LeatherArmorItemBuilder extends Builder<LeatherArmorItemBuilder, LeatherArmorMeta> {
@@ -106,9 +108,7 @@ public final class LeatherArmorItemBuilder extends Builder<LeatherArmorItemBuild
   @Override
   public void serialize(@NotNull final KeyUtil.Holder<?> holder) {
     super.serialize(holder);
-    final var color = this.getItemMeta().getColor();
-    holder.add(KeyUtil.COLOR_KEY, String.format("%d, %d, %d",
-      color.getRed(), color.getGreen(), color.getBlue()), String.class);
+    ColorUtil.add(holder, KeyUtil.COLOR_KEY, this.getItemMeta().getColor());
   }
 
   /**
@@ -127,13 +127,13 @@ public final class LeatherArmorItemBuilder extends Builder<LeatherArmorItemBuild
   /**
    * sets color of the armor.
    *
-   * @param color the color to set.
+   * @param color the color to set, can be 'red, green, blue' or '#rrggbb'.
    *
    * @return {@code this} for builder chain.
    */
   @NotNull
   public LeatherArmorItemBuilder setColor(@Nullable final String color) {
-    return this.setColor(XItemStack.parseColor(color));
+    return this.setColor(ColorUtil.parse(color).orElse(null));
   }
 
   /**
@@ -145,14 +145,42 @@ public final class LeatherArmorItemBuilder extends Builder<LeatherArmorItemBuild
     @NotNull
     @Override
     public Optional<LeatherArmorItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_LEATHER_ARMOR, LeatherArmorItemBuilder.class, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public LeatherArmorItemBuilder apply(@NotNull final LeatherArmorItemBuilder builder,
+                                         @NotNull final KeyUtil.Holder<?> holder) {
+      holder.get(KeyUtil.COLOR_KEY, Object.class)
+        .flatMap(ColorUtil::parse)
+        .ifPresent(builder::setColor);
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the leather armor item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized leather armor item builder.
+     */
+    @NotNull
+    private Optional<LeatherArmorItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       final var itemStack = Builder.getItemStackDeserializer().apply(holder);
       if (itemStack.isEmpty()) {
         return Optional.empty();
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asLeatherArmor();
-      holder.get(KeyUtil.SKULL_TEXTURE_KEY, String.class)
-        .ifPresent(builder::setColor);
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asLeatherArmor(), holder));
     }
   }
 }
@@ -25,8 +25,11 @@
 
 package io.github.portlek.bukkititembuilder;
 
-import com.cryptomorin.xseries.XItemStack;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
+import io.github.portlek.bukkititembuilder.util.ColorUtil;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import io.github.portlek.bukkititembuilder.util.MapViewRegistry;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -48,7 +51,7 @@ import org.jetbrains.annotations.Nullable;
  *
  *   location: string (location name) (for 11 and newer versions)
  *
- *   color: 'red, green, blue' (for 11 and newer versions)
+ *   color: 'red, green, blue', '#rrggbb' or integer (see {@link ColorUtil}) (for 11 and newer versions)
  *
  *   map-id: integer (map's id) (for 13 and newer versions)
  *
@@ -136,12 +139,11 @@ public final class MapItemBuilder extends Builder<MapItemBuilder, MapMeta> {
     map.put(KeyUtil.SCALING_KEY, itemMeta.isScaling());
     if (Builder.VERSION >= 11) {
       if (itemMeta.hasLocationName()) {
-        map.put("location", itemMeta.getLocationName());
+        map.put(KeyUtil.LOCATION_KEY, itemMeta.getLocationName());
       }
       final var color = itemMeta.getColor();
       if (color != null) {
-        map.put("color", String.format("%d, %d, %d",
-          color.getRed(), color.getGreen(), color.getBlue()));
+        map.put(KeyUtil.COLOR_KEY, ColorUtil.serialize(color));
       }
     }
     if (Builder.VERSION >= 13) {
@@ -252,11 +254,21 @@ public final class MapItemBuilder extends Builder<MapItemBuilder, MapMeta> {
     @NotNull
     @Override
     public Optional<MapItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
-      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
-      if (itemStack.isEmpty()) {
-        return Optional.empty();
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_MAP, MapItemBuilder.class, holder)) {
+        return this.deserialize(holder);
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asMap();
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public MapItemBuilder apply(@NotNull final MapItemBuilder builder, @NotNull final KeyUtil.Holder<?> holder) {
       holder.getAsMap(KeyUtil.MAP_KEY, String.class, Object.class)
         .ifPresent(mapSection -> {
           final var scaling = Optional.ofNullable(mapSection.get(KeyUtil.SCALING_KEY))
@@ -269,10 +281,8 @@ public final class MapItemBuilder extends Builder<MapItemBuilder, MapMeta> {
               .filter(String.class::isInstance)
               .map(String.class::cast)
               .ifPresent(builder::setLocationName);
-            Optional.ofNullable(mapSection.get(KeyUtil.COLOR_KEY))
-              .filter(String.class::isInstance)
-              .map(String.class::cast)
-              .ifPresent(s -> builder.setColor(XItemStack.parseColor(s)));
+            ColorUtil.parse(mapSection.get(KeyUtil.COLOR_KEY))
+              .ifPresent(builder::setColor);
           }
           if (Builder.VERSION >= 13) {
             Optional.ofNullable(mapSection.get(KeyUtil.MAP_ID_KEY))
@@ -304,18 +314,12 @@ public final class MapItemBuilder extends Builder<MapItemBuilder, MapMeta> {
                     .filter(Boolean.class::isInstance)
                     .map(Boolean.class::cast)
                     .orElse(false);
-                  final var mapView = Bukkit.createMap(world);
-                  mapView.setWorld(world);
                   MapView.Scale scale;
                   try {
                     scale = scaleOptional.map(MapView.Scale::valueOf).orElse(MapView.Scale.NORMAL);
                   } catch (final Exception e) {
                     scale = MapView.Scale.NORMAL;
                   }
-                  mapView.setScale(scale);
-                  mapView.setLocked(locked);
-                  mapView.setTrackingPosition(trackingPosition);
-                  mapView.setUnlimitedTracking(unlimitedTracking);
                   final var center = Optional.ofNullable(view.get(KeyUtil.CENTER_KEY))
                     .filter(Map.class::isInstance)
                     .map(Map.class::cast)
@@ -328,13 +332,33 @@ public final class MapItemBuilder extends Builder<MapItemBuilder, MapMeta> {
                     .filter(Integer.class::isInstance)
                     .map(Integer.class::cast)
                     .orElse(0);
-                  mapView.setCenterX(x);
-                  mapView.setCenterZ(z);
+                  final var mapId = Optional.ofNullable(mapSection.get(KeyUtil.MAP_ID_KEY))
+                    .filter(Integer.class::isInstance)
+                    .map(Integer.class::cast)
+                    .orElse(null);
+                  final var mapView = MapViewRegistry.obtain(mapId, world, scale, x, z, locked, trackingPosition,
+                    unlimitedTracking);
                   builder.setMapView(mapView);
                 }));
           }
         });
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the map item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized map item builder.
+     */
+    @NotNull
+    private Optional<MapItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
+      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
+      if (itemStack.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asMap(), holder));
     }
   }
 }
@@ -25,13 +25,14 @@
 
 package io.github.portlek.bukkititembuilder;
 
-import com.cryptomorin.xseries.XPotion;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import io.github.portlek.bukkititembuilder.util.PotionSpec;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Locale;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -143,10 +144,29 @@ public final class PotionItemBuilder extends Builder<PotionItemBuilder, PotionMe
   @NotNull
   public PotionItemBuilder addCustomEffects(@NotNull final Collection<String> effects, final boolean overwrite) {
     if (Builder.VERSION >= 9) {
-      effects.stream()
-        .map(XPotion::parsePotionEffectFromString)
-        .filter(Objects::nonNull)
-        .forEach(effect -> this.addCustomEffect(effect, overwrite));
+      effects.forEach(effect -> PotionSpec.effect(effect)
+        .ifPresent(potionEffect -> this.addCustomEffect(potionEffect, overwrite)));
+    }
+    return this.getSelf();
+  }
+
+  /**
+   * applies the given pre-parsed spec to this potion.
+   *
+   * @param spec the spec to apply.
+   * @param overwrite true if any existing effect of the same type should be overwritten.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public PotionItemBuilder applySpec(@NotNull final PotionSpec spec, final boolean overwrite) {
+    if (Builder.VERSION < 9) {
+      return this.getSelf();
+    }
+    spec.getCustomEffects().forEach(effect -> this.addCustomEffect(effect, overwrite));
+    final var baseData = spec.getBaseData();
+    if (baseData != null) {
+      this.setBasePotionData(baseData);
     }
     return this.getSelf();
   }
@@ -176,13 +196,11 @@ public final class PotionItemBuilder extends Builder<PotionItemBuilder, PotionMe
     if (Builder.VERSION >= 9) {
       final var customEffects = itemMeta.getCustomEffects();
       final var effects = customEffects.stream()
-        .map(effect ->
-          String.format("%s, %d, %d", effect.getType().getName(), effect.getDuration(), effect.getAmplifier()))
+        .map(PotionSpec::serialize)
         .collect(Collectors.toCollection(() -> new ArrayList<>(customEffects.size())));
       holder.addAsCollection(KeyUtil.CUSTOM_EFFECTS_KEY, effects, String.class);
       final var potionData = itemMeta.getBasePotionData();
-      holder.add(KeyUtil.BASE_EFFECT_KEY, String.format("%s, %s, %s",
-        potionData.getType().name(), potionData.isExtended(), potionData.isUpgraded()), String.class);
+      holder.add(KeyUtil.BASE_EFFECT_KEY, PotionSpec.serialize(potionData), String.class);
       if (Builder.VERSION >= 11) {
         final var color = itemMeta.getColor();
         if (itemMeta.hasColor() && color != null) {
@@ -192,8 +210,8 @@ public final class PotionItemBuilder extends Builder<PotionItemBuilder, PotionMe
     } else if (itemStack.getDurability() != 0) {
       final var potion = Potion.fromItemStack(itemStack);
       holder.add(KeyUtil.LEVEL_KEY, potion.getLevel(), int.class);
-      holder.add(KeyUtil.BASE_EFFECT_KEY, String.format("%s, %s, %s",
-        potion.getType().name(), potion.hasExtendedDuration(), potion.isSplash()), String.class);
+      holder.add(KeyUtil.BASE_EFFECT_KEY,
+        potion.getType().name() + ", " + potion.hasExtendedDuration() + ", " + potion.isSplash(), String.class);
     }
   }
 
@@ -231,26 +249,19 @@ public final class PotionItemBuilder extends Builder<PotionItemBuilder, PotionMe
    * @param data the data to set the base potion state to.
    *
    * @return {@code this} for builder chain.
+   *
+   * @see PotionSpec#data(String)
    */
   @NotNull
   public PotionItemBuilder setBasePotionData(@NotNull final String data) {
     if (Builder.VERSION < 9) {
       return this.getSelf();
     }
-    if (data.isEmpty()) {
+    final var potionData = PotionSpec.data(data);
+    if (potionData.isEmpty()) {
       return this.getSelf();
     }
-    final var split = data.split(",");
-    PotionType type;
-    try {
-      type = PotionType.valueOf(split[0].trim().toUpperCase(Locale.ROOT));
-    } catch (final Exception e) {
-      type = PotionType.UNCRAFTABLE;
-    }
-    final var extended = split.length != 1 && Boolean.parseBoolean(split[1].trim());
-    final var upgraded = split.length > 2 && Boolean.parseBoolean(split[2].trim());
-    final var potionData = new PotionData(type, extended, upgraded);
-    return this.setBasePotionData(potionData);
+    return this.setBasePotionData(potionData.get());
   }
 
   /**
@@ -335,11 +346,21 @@ public final class PotionItemBuilder extends Builder<PotionItemBuilder, PotionMe
     @NotNull
     @Override
     public Optional<PotionItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
-      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
-      if (itemStack.isEmpty()) {
-        return Optional.empty();
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_POTION, PotionItemBuilder.class, holder)) {
+        return this.deserialize(holder);
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asPotion();
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public PotionItemBuilder apply(@NotNull final PotionItemBuilder builder, @NotNull final KeyUtil.Holder<?> holder) {
       final var level = holder.get(KeyUtil.LEVEL_KEY, int.class)
         .orElse(1);
       final var baseEffect = holder.get(KeyUtil.BASE_EFFECT_KEY, String.class);
@@ -349,7 +370,23 @@ public final class PotionItemBuilder extends Builder<PotionItemBuilder, PotionMe
       color.ifPresent(builder::setColor);
       builder.addCustomEffects(customEffects, true);
       baseEffect.ifPresent(s -> builder.setBasePotionData(s, level));
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the potion item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized potion item builder.
+     */
+    @NotNull
+    private Optional<PotionItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
+      final var itemStack = Builder.getItemStackDeserializer().apply(holder);
+      if (itemStack.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asPotion(), holder));
     }
   }
 }
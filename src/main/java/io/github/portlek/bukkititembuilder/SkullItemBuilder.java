@@ -25,9 +25,13 @@
 
 package io.github.portlek.bukkititembuilder;
 
-import com.cryptomorin.xseries.SkullUtils;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import io.github.portlek.bukkititembuilder.util.SkullOwnerResolver;
+import io.github.portlek.bukkititembuilder.util.SkullTextureCache;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
@@ -103,7 +107,7 @@ public final class SkullItemBuilder extends Builder<SkullItemBuilder, SkullMeta>
   @Override
   public void serialize(@NotNull final KeyUtil.Holder<?> holder) {
     super.serialize(holder);
-    holder.add(KeyUtil.SKULL_TEXTURE_KEY, SkullUtils.getSkinValue(this.getItemMeta()), String.class);
+    holder.add(KeyUtil.SKULL_TEXTURE_KEY, SkullTextureCache.getSkinValue(this.getItemMeta()), String.class);
   }
 
   /**
@@ -123,6 +127,8 @@ public final class SkullItemBuilder extends Builder<SkullItemBuilder, SkullMeta>
 
   /**
    * sets owner of the skull.
+   * <p>
+   * the prepared profiles of the textures are cached by {@link SkullTextureCache}.
    *
    * @param texture the texture to set.
    *
@@ -130,7 +136,47 @@ public final class SkullItemBuilder extends Builder<SkullItemBuilder, SkullMeta>
    */
   @NotNull
   public SkullItemBuilder setOwner(@NotNull final String texture) {
-    SkullUtils.applySkin(this.getItemMeta(), texture);
+    SkullTextureCache.apply(this.getItemMeta(), texture);
+    return this.getSelf();
+  }
+
+  /**
+   * sets owner of the skull without blocking the caller.
+   * <p>
+   * if the given owner is a player name that is not stored yet, the placeholder texture of the resolver is set and the
+   * name is resolved asynchronously, the resolved texture is set and the callback is run on the callback executor of
+   * the resolver. otherwise the texture is set immediately and the callback is run on the callback executor.
+   *
+   * @param owner the owner to set, can be player name, textures.minecraft.net url or base64.
+   * @param resolver the resolver to set.
+   * @param callback the callback to run when the owner is set.
+   *
+   * @return {@code this} for builder chain.
+   */
+  @NotNull
+  public SkullItemBuilder setOwner(@NotNull final String owner, @NotNull final SkullOwnerResolver resolver,
+                                   @NotNull final Consumer<SkullItemBuilder> callback) {
+    if (!SkullOwnerResolver.isName(owner)) {
+      this.setOwner(owner);
+      resolver.getCallbackExecutor().execute(() -> callback.accept(this));
+      return this.getSelf();
+    }
+    final var stored = resolver.getNow(owner);
+    if (stored.isPresent()) {
+      this.setOwner(stored.get());
+      resolver.getCallbackExecutor().execute(() -> callback.accept(this));
+      return this.getSelf();
+    }
+    final var placeholder = resolver.getPlaceholder();
+    if (placeholder != null) {
+      this.setOwner(placeholder);
+    }
+    resolver.resolve(owner).whenCompleteAsync((texture, throwable) -> {
+      if (texture != null) {
+        texture.ifPresent(this::setOwner);
+      }
+      callback.accept(this);
+    }, resolver.getCallbackExecutor());
     return this.getSelf();
   }
 
@@ -143,14 +189,40 @@ public final class SkullItemBuilder extends Builder<SkullItemBuilder, SkullMeta>
     @NotNull
     @Override
     public Optional<SkullItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_SKULL, SkullItemBuilder.class, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public SkullItemBuilder apply(@NotNull final SkullItemBuilder builder, @NotNull final KeyUtil.Holder<?> holder) {
+      holder.get(KeyUtil.SKULL_TEXTURE_KEY, String.class)
+        .ifPresent(builder::setOwner);
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the skull item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized skull item builder.
+     */
+    @NotNull
+    private Optional<SkullItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       final var itemStack = Builder.getItemStackDeserializer().apply(holder);
       if (itemStack.isEmpty()) {
         return Optional.empty();
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asSkull();
-      holder.get(KeyUtil.SKULL_TEXTURE_KEY, String.class)
-        .ifPresent(builder::setOwner);
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asSkull(), holder));
     }
   }
 }
@@ -25,6 +25,8 @@
 
 package io.github.portlek.bukkititembuilder;
 
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
 import java.util.Locale;
 import java.util.Optional;
@@ -152,14 +154,41 @@ public final class SpawnEggItemBuilder extends Builder<SpawnEggItemBuilder, Spaw
     @NotNull
     @Override
     public Optional<SpawnEggItemBuilder> apply(@NotNull final KeyUtil.Holder<?> holder) {
+      try (final var ignored = Metrics.start(Phase.DESERIALIZE_SPAWN_EGG, SpawnEggItemBuilder.class, holder)) {
+        return this.deserialize(holder);
+      }
+    }
+
+    /**
+     * deserializes the type-specific keys and the item meta of the given holder into the builder.
+     *
+     * @param builder the builder to deserialize.
+     * @param holder the holder to deserialize.
+     *
+     * @return {@code builder} for builder chain.
+     */
+    @NotNull
+    public SpawnEggItemBuilder apply(@NotNull final SpawnEggItemBuilder builder,
+                                     @NotNull final KeyUtil.Holder<?> holder) {
+      holder.get(KeyUtil.CREATURE_KEY, String.class)
+        .ifPresent(builder::setSpawnedType);
+      return Builder.getItemMetaDeserializer(builder).apply(holder);
+    }
+
+    /**
+     * deserializes the spawn egg item builder.
+     *
+     * @param holder the holder to deserialize.
+     *
+     * @return deserialized spawn egg item builder.
+     */
+    @NotNull
+    private Optional<SpawnEggItemBuilder> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
       final var itemStack = Builder.getItemStackDeserializer().apply(holder);
       if (itemStack.isEmpty()) {
         return Optional.empty();
       }
-      final var builder = ItemStackBuilder.from(itemStack.get()).asSpawnEgg();
-      holder.get(KeyUtil.CREATURE_KEY, String.class)
-        .ifPresent(builder::setSpawnedType);
-      return Optional.of(Builder.getItemMetaDeserializer(builder).apply(holder));
+      return Optional.of(this.apply(ItemStackBuilder.from(itemStack.get()).asSpawnEgg(), holder));
     }
   }
 }
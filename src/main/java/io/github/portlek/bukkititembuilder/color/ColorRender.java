@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.color;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents hex and legacy renders of a text.
+ * <p>
+ * the hex render keeps the {@code §x§r§r§g§g§b§b} sequences, the legacy render replaces each of them with the
+ * nearest legacy {@link ChatColor} for the clients that can't show hex colors. the nearest colors are looked up from
+ * a table that is precomputed for the 4096 colors of 4 bits per channel. the renders are cached by their inputs, so
+ * translating the same text for many viewers colorizes and downsamples it once.
+ */
+public final class ColorRender {
+
+  /**
+   * the maximum size of each cache.
+   */
+  public static final int MAXIMUM_SIZE = 4096;
+
+  /**
+   * the renders by the colored texts.
+   */
+  private static final Map<String, ColorRender> BY_COLORED = new ConcurrentHashMap<>();
+
+  /**
+   * the renders by the raw texts.
+   */
+  private static final Map<String, ColorRender> BY_RAW = new ConcurrentHashMap<>();
+
+  /**
+   * the nearest legacy colors by the 12 bit colors.
+   */
+  private static final ChatColor[] NEAREST = new ChatColor[4096];
+
+  /**
+   * the hex render.
+   */
+  @NotNull
+  @Getter
+  private final String hex;
+
+  /**
+   * the legacy render.
+   */
+  @NotNull
+  @Getter
+  private final String legacy;
+
+  static {
+    final var legacyColors = new XColor[]{
+      XColor.BLACK, XColor.DARK_BLUE, XColor.DARK_GREEN, XColor.DARK_AQUA, XColor.DARK_RED, XColor.DARK_PURPLE,
+      XColor.GOLD, XColor.GRAY, XColor.DARK_GRAY, XColor.BLUE, XColor.GREEN, XColor.AQUA, XColor.RED,
+      XColor.LIGHT_PURPLE, XColor.YELLOW, XColor.WHITE};
+    for (var index = 0; index < ColorRender.NEAREST.length; index++) {
+      final var red = (index >> 8 & 0xF) * 17;
+      final var green = (index >> 4 & 0xF) * 17;
+      final var blue = (index & 0xF) * 17;
+      var nearest = legacyColors[0];
+      var distance = Long.MAX_VALUE;
+      for (final var color : legacyColors) {
+        final var dist = CustomColors.distance(color.getRed(), color.getGreen(), color.getBlue(), red, green, blue);
+        if (dist < distance) {
+          nearest = color;
+          distance = dist;
+        }
+      }
+      ColorRender.NEAREST[index] = ChatColor.getByChar(nearest.getChar());
+    }
+  }
+
+  /**
+   * ctor.
+   *
+   * @param hex the hex.
+   * @param legacy the legacy.
+   */
+  private ColorRender(@NotNull final String hex, @NotNull final String legacy) {
+    this.hex = hex;
+    this.legacy = legacy;
+  }
+
+  /**
+   * clears the caches.
+   */
+  public static void clear() {
+    ColorRender.BY_COLORED.clear();
+    ColorRender.BY_RAW.clear();
+  }
+
+  /**
+   * replaces the hex sequences of the given colored text with their nearest legacy colors.
+   *
+   * @param colored the colored to downsample.
+   *
+   * @return downsampled text.
+   */
+  @NotNull
+  public static String downsample(@NotNull final String colored) {
+    final var length = colored.length();
+    StringBuilder builder = null;
+    var last = 0;
+    for (var index = 0; index + 14 <= length; index++) {
+      if (!XColor.isHexSequence(colored, index)) {
+        continue;
+      }
+      var rgb = 0;
+      for (var offset = 3; offset < 14; offset += 2) {
+        rgb = rgb << 4 | Character.digit(colored.charAt(index + offset), 16);
+      }
+      if (builder == null) {
+        builder = new StringBuilder(length);
+      }
+      builder.append(colored, last, index).append(ColorRender.nearest(rgb));
+      index += 13;
+      last = index + 1;
+    }
+    if (builder == null) {
+      return colored;
+    }
+    return builder.append(colored, last, length).toString();
+  }
+
+  /**
+   * obtains the size of the caches.
+   *
+   * @return size of the caches.
+   */
+  public static int getSize() {
+    return ColorRender.BY_COLORED.size() + ColorRender.BY_RAW.size();
+  }
+
+  /**
+   * obtains the nearest legacy color of the given rgb.
+   *
+   * @param rgb the rgb to obtain.
+   *
+   * @return nearest legacy color.
+   */
+  @NotNull
+  public static ChatColor nearest(final int rgb) {
+    return ColorRender.NEAREST[(rgb >> 12 & 0xF00) | (rgb >> 8 & 0xF0) | (rgb >> 4 & 0xF)];
+  }
+
+  /**
+   * obtains the renders of the given raw text, which is colorized by {@link XColor#colorize(String)}.
+   *
+   * @param text the text to obtain.
+   *
+   * @return renders of the text.
+   */
+  @NotNull
+  public static ColorRender of(@NotNull final String text) {
+    final var cached = ColorRender.BY_RAW.get(text);
+    if (cached != null) {
+      return cached;
+    }
+    final var render = ColorRender.ofColored(XColor.colorize(text));
+    if (ColorRender.BY_RAW.size() < ColorRender.MAXIMUM_SIZE) {
+      ColorRender.BY_RAW.put(text, render);
+    }
+    return render;
+  }
+
+  /**
+   * obtains the renders of the given text that is already colored, such as the texts of the packets.
+   *
+   * @param colored the colored to obtain.
+   *
+   * @return renders of the text.
+   */
+  @NotNull
+  public static ColorRender ofColored(@NotNull final String colored) {
+    final var cached = ColorRender.BY_COLORED.get(colored);
+    if (cached != null) {
+      return cached;
+    }
+    final var render = new ColorRender(colored, ColorRender.downsample(colored));
+    if (ColorRender.BY_COLORED.size() < ColorRender.MAXIMUM_SIZE) {
+      ColorRender.BY_COLORED.put(colored, render);
+    }
+    return render;
+  }
+
+  /**
+   * obtains the render for the viewer.
+   *
+   * @param hexSupported the hex supported to obtain, {@code true} for 1.16 and newer clients.
+   *
+   * @return hex render if the hex is supported, otherwise legacy render.
+   */
+  @NotNull
+  public String get(final boolean hexSupported) {
+    return hexSupported ? this.hex : this.legacy;
+  }
+}
@@ -25,9 +25,12 @@
 
 package io.github.portlek.bukkititembuilder.color;
 
-import java.util.Locale;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * an enum class that contains custom colors.
@@ -1600,8 +1603,6 @@ public enum CustomColors {
   Ivory("FFFFF0"),
   White("FFFFFF");
 
-  private static final CustomColors[] VALUES = CustomColors.values();
-
   /**
    * the hex code.
    */
@@ -1609,12 +1610,6 @@ public enum CustomColors {
   @Getter
   private final String hexCode;
 
-  /**
-   * the rgb.
-   */
-  @Getter
-  private final long rgb;
-
   /**
    * ctor.
    *
@@ -1622,25 +1617,349 @@ public enum CustomColors {
    */
   CustomColors(@NotNull final String hexCode) {
     this.hexCode = hexCode;
-    this.rgb = Long.parseLong(hexCode, 16);
+  }
+
+  /**
+   * calculates the weighted distance between the given colors.
+   * <p>
+   * returns the square of the distance that {@link XColor#getClosest(String)} compares.
+   *
+   * @param red1 the red 1 to calculate.
+   * @param green1 the green 1 to calculate.
+   * @param blue1 the blue 1 to calculate.
+   * @param red2 the red 2 to calculate.
+   * @param green2 the green 2 to calculate.
+   * @param blue2 the blue 2 to calculate.
+   *
+   * @return squared distance.
+   */
+  static long distance(final int red1, final int green1, final int blue1, final int red2, final int green2,
+                       final int blue2) {
+    final var remaining = red1 + red2 >> 1;
+    final var red = red1 - red2;
+    final var green = green1 - green2;
+    final var blue = blue1 - blue2;
+    return ((512 + remaining) * red * red >> 8) + 4 * green * green + ((767 - remaining) * blue * blue >> 8);
+  }
+
+  /**
+   * obtains the registered custom color by the hex code.
+   * <p>
+   * if more than one registered custom color has the hex code, the last one wins.
+   *
+   * @param hexCode the hex code to obtain, 6 hex digits, case-insensitive.
+   *
+   * @return registered custom color.
+   */
+  @Nullable
+  static XColor getByHex(@NotNull final String hexCode) {
+    final var rgb = CustomColors.parseRgb(hexCode);
+    if (rgb == -1) {
+      return null;
+    }
+    final var sorted = Registry.SORTED_RGB;
+    var index = Arrays.binarySearch(sorted, rgb);
+    if (index < 0) {
+      return null;
+    }
+    while (index + 1 < sorted.length && sorted[index + 1] == rgb) {
+      index++;
+    }
+    for (; index >= 0 && sorted[index] == rgb; index--) {
+      final var ordinal = Registry.SORTED_ORDINAL[index];
+      if (Registry.REGISTERED.get(ordinal) == 1) {
+        return Registry.VALUES[ordinal].getColor();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * obtains the registered custom color by the name.
+   * <p>
+   * the name is compared case-insensitively and without underscores.
+   *
+   * @param name the name to obtain.
+   *
+   * @return registered custom color.
+   */
+  @Nullable
+  static XColor getByName(@NotNull final String name) {
+    final var names = Registry.NAMES;
+    final var mask = names.length - 1;
+    for (var slot = CustomColors.hash(name) & mask; names[slot] != 0; slot = slot + 1 & mask) {
+      final var ordinal = names[slot] - 1;
+      final var value = Registry.VALUES[ordinal];
+      if (CustomColors.equalsName(value.name(), name)) {
+        return Registry.REGISTERED.get(ordinal) == 1 ? value.getColor() : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * obtains the closest registered custom color to the given rgb.
+   * <p>
+   * the colors are compared in the declaration order and the first one wins on ties.
+   *
+   * @param red the red to obtain.
+   * @param green the green to obtain.
+   * @param blue the blue to obtain.
+   *
+   * @return closest registered custom color, {@code null} if there is none.
+   */
+  @Nullable
+  static XColor getClosest(final int red, final int green, final int blue) {
+    final var packed = Registry.PACKED;
+    var closest = -1;
+    var distance = Long.MAX_VALUE;
+    for (var ordinal = 0; ordinal < packed.length; ordinal++) {
+      if (Registry.REGISTERED.get(ordinal) == 0) {
+        continue;
+      }
+      final var rgb = packed[ordinal];
+      final var dist = CustomColors.distance(rgb >> 16 & 0xFF, rgb >> 8 & 0xFF, rgb & 0xFF, red, green, blue);
+      if (dist < distance) {
+        closest = ordinal;
+        distance = dist;
+      }
+    }
+    if (closest == -1) {
+      return null;
+    }
+    return CustomColors.getByHex(Registry.VALUES[closest].hexCode);
+  }
+
+  /**
+   * obtains the registered custom color at the given index.
+   *
+   * @param index the index to obtain, between 0 and {@link #getRegisteredCount()}.
+   *
+   * @return registered custom color.
+   */
+  @Nullable
+  static XColor getRegistered(final int index) {
+    var remaining = index;
+    for (var ordinal = 0; ordinal < Registry.VALUES.length; ordinal++) {
+      if (Registry.REGISTERED.get(ordinal) == 1 && remaining-- == 0) {
+        return Registry.VALUES[ordinal].getColor();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * obtains the registered custom color count.
+   *
+   * @return registered custom color count.
+   */
+  static int getRegisteredCount() {
+    return Registry.registeredCount;
   }
 
   /**
    * registers the default custom colors.
    */
   public static void registerAll() {
-    for (final var value : CustomColors.VALUES) {
+    for (final var value : Registry.VALUES) {
       value.register();
     }
   }
 
+  /**
+   * checks if the given names are equal, case-insensitively and without underscores.
+   *
+   * @param first the first to check.
+   * @param second the second to check.
+   *
+   * @return {@code true} if the names are equal.
+   */
+  private static boolean equalsName(@NotNull final String first, @NotNull final String second) {
+    var firstIndex = 0;
+    var secondIndex = 0;
+    while (true) {
+      while (firstIndex < first.length() && first.charAt(firstIndex) == '_') {
+        firstIndex++;
+      }
+      while (secondIndex < second.length() && second.charAt(secondIndex) == '_') {
+        secondIndex++;
+      }
+      if (firstIndex == first.length() || secondIndex == second.length()) {
+        return firstIndex == first.length() && secondIndex == second.length();
+      }
+      if (Character.toLowerCase(first.charAt(firstIndex++)) != Character.toLowerCase(second.charAt(secondIndex++))) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * hashes the given name, case-insensitively and without underscores.
+   *
+   * @param name the name to hash.
+   *
+   * @return hash of the name.
+   */
+  private static int hash(@NotNull final String name) {
+    var hash = 0;
+    for (var index = 0; index < name.length(); index++) {
+      final var ch = name.charAt(index);
+      if (ch != '_') {
+        hash = 31 * hash + Character.toLowerCase(ch);
+      }
+    }
+    return hash ^ hash >>> 16;
+  }
+
+  /**
+   * parses the given 6 digit hex code.
+   *
+   * @param hexCode the hex code to parse.
+   *
+   * @return packed rgb, -1 if the hex code is invalid.
+   */
+  private static int parseRgb(@NotNull final String hexCode) {
+    if (hexCode.length() != 6) {
+      return -1;
+    }
+    var rgb = 0;
+    for (var index = 0; index < 6; index++) {
+      final var digit = Character.digit(hexCode.charAt(index), 16);
+      if (digit == -1) {
+        return -1;
+      }
+      rgb = rgb << 4 | digit;
+    }
+    return rgb;
+  }
+
+  /**
+   * obtains the color, creates it at the first call.
+   *
+   * @return color.
+   */
+  @NotNull
+  public XColor getColor() {
+    final var ordinal = this.ordinal();
+    final var color = Registry.COLORS.get(ordinal);
+    if (color != null) {
+      return color;
+    }
+    Registry.COLORS.compareAndSet(ordinal, null, new XColor(this.toString(), this.hexCode));
+    return Registry.COLORS.get(ordinal);
+  }
+
+  /**
+   * obtains the rgb.
+   *
+   * @return rgb.
+   */
+  public long getRgb() {
+    return Registry.PACKED[this.ordinal()];
+  }
+
+  /**
+   * checks if {@code this} is registered.
+   *
+   * @return {@code true} if {@code this} is registered.
+   */
+  public boolean isRegistered() {
+    return Registry.REGISTERED.get(this.ordinal()) == 1;
+  }
+
   /**
    * registers {@code this}.
+   * <p>
+   * registering only marks {@code this}, the color itself is created at the first lookup.
    */
   public void register() {
-    XColor.addCustomColor(
-      this.name().toLowerCase(Locale.ROOT).replace("_", ""),
-      this.getHexCode().toLowerCase(Locale.ROOT),
-      new XColor(this.toString(), this.getHexCode()));
+    if (Registry.REGISTERED.compareAndSet(this.ordinal(), 0, 1)) {
+      synchronized (Registry.class) {
+        Registry.registeredCount++;
+      }
+    }
+  }
+
+  /**
+   * a class that contains the compact registry of the custom colors.
+   */
+  private static final class Registry {
+
+    /**
+     * the colors, created lazily by the ordinals.
+     */
+    private static final AtomicReferenceArray<XColor> COLORS;
+
+    /**
+     * the open addressed name table, ordinal plus one by the name hash.
+     */
+    private static final int[] NAMES;
+
+    /**
+     * the packed rgb values by the ordinals.
+     */
+    private static final int[] PACKED;
+
+    /**
+     * the registration flags by the ordinals.
+     */
+    private static final AtomicIntegerArray REGISTERED;
+
+    /**
+     * the ordinals of {@link #SORTED_RGB}.
+     */
+    private static final int[] SORTED_ORDINAL;
+
+    /**
+     * the sorted packed rgb values.
+     */
+    private static final int[] SORTED_RGB;
+
+    /**
+     * the values.
+     */
+    private static final CustomColors[] VALUES = CustomColors.values();
+
+    /**
+     * the registered count.
+     */
+    private static volatile int registeredCount;
+
+    static {
+      final var length = Registry.VALUES.length;
+      COLORS = new AtomicReferenceArray<>(length);
+      REGISTERED = new AtomicIntegerArray(length);
+      PACKED = new int[length];
+      final var sorted = new long[length];
+      for (var ordinal = 0; ordinal < length; ordinal++) {
+        final var rgb = CustomColors.parseRgb(Registry.VALUES[ordinal].hexCode);
+        Registry.PACKED[ordinal] = rgb;
+        sorted[ordinal] = (long) rgb << 32 | ordinal;
+      }
+      Arrays.sort(sorted);
+      SORTED_RGB = new int[length];
+      SORTED_ORDINAL = new int[length];
+      for (var index = 0; index < length; index++) {
+        Registry.SORTED_RGB[index] = (int) (sorted[index] >>> 32);
+        Registry.SORTED_ORDINAL[index] = (int) sorted[index];
+      }
+      NAMES = new int[Integer.highestOneBit(length * 2 - 1) << 1];
+      final var mask = Registry.NAMES.length - 1;
+      for (var ordinal = 0; ordinal < length; ordinal++) {
+        final var name = Registry.VALUES[ordinal].name();
+        var slot = CustomColors.hash(name) & mask;
+        while (Registry.NAMES[slot] != 0 &&
+          !CustomColors.equalsName(Registry.VALUES[Registry.NAMES[slot] - 1].name(), name)) {
+          slot = slot + 1 & mask;
+        }
+        Registry.NAMES[slot] = ordinal + 1;
+      }
+    }
+
+    /**
+     * ctor.
+     */
+    private Registry() {
+    }
   }
 }
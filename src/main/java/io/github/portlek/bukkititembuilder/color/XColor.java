@@ -26,6 +26,8 @@
 package io.github.portlek.bukkititembuilder.color;
 
 import io.github.portlek.bukkititembuilder.Builder;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import java.awt.Color;
 import java.security.SecureRandom;
 import java.util.ArrayList;
@@ -40,6 +42,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import lombok.Getter;
@@ -192,6 +195,16 @@ public final class XColor {
    */
   private static final TreeMap<String, XColor> CUSTOM_BY_RGB;
 
+  /**
+   * the encoded hex sequences by the hex codes.
+   */
+  private static final Map<String, String> ENCODED = new ConcurrentHashMap<>();
+
+  /**
+   * the maximum size of {@link #ENCODED}.
+   */
+  private static final int ENCODED_MAXIMUM_SIZE = 4096;
+
   /**
    * the format pattern.
    */
@@ -238,6 +251,12 @@ public final class XColor {
   @Getter
   private final int blue;
 
+  /**
+   * the bukkit color code.
+   */
+  @NotNull
+  private final String bukkitColorCode;
+
   /**
    * the char.
    */
@@ -356,6 +375,9 @@ public final class XColor {
     this.red = tempRed;
     this.green = tempGreen;
     this.blue = tempBlue;
+    this.bukkitColorCode = tmpHexCode == null
+      ? "§" + this.ch
+      : XColor.encode(tmpHexCode);
   }
 
   /**
@@ -380,6 +402,7 @@ public final class XColor {
     this.green = green;
     this.blue = blue;
     this.hexCode = null;
+    this.bukkitColorCode = "§" + ch;
     if (Builder.VERSION >= 16 || !name.equalsIgnoreCase("Hex")) {
       XColor.BY_CHAR.put(ch, this);
       XColor.BY_NAME.put(this.name.toLowerCase(Locale.ROOT).replace("_", ""), this);
@@ -467,42 +490,9 @@ public final class XColor {
    */
   @NotNull
   public static String colorize(@NotNull final String text) {
-    var replaced = XColor.gradient(text);
-    if (!replaced.contains("{#")) {
-      return ChatColor.translateAlternateColorCodes('&', replaced);
+    try (final var ignored = Metrics.start(Phase.COLORIZE, null, text)) {
+      return XColor.colorizeText(text);
     }
-    var match = XColor.HEX_COLOR_REGEX.matcher(replaced);
-    while (match.find()) {
-      final var string = match.group();
-      final var builder = new StringBuilder("§x");
-      final var charArray = string.substring(2, string.length() - 1).toCharArray();
-      for (final var ch : charArray) {
-        builder.append('§').append(ch);
-        if (string.substring(2, string.length() - 1).length() == 3) {
-          builder.append('§').append(ch);
-        }
-      }
-      replaced = replaced.replace(string, builder.toString());
-    }
-    match = XColor.HEX_COLOR_NAME.matcher(replaced);
-    while (match.find()) {
-      final var string2 = match.group(2);
-      final var color = XColor.getByCustomName(string2.toLowerCase().replace("_", ""));
-      if (color.isEmpty()) {
-        continue;
-      }
-      final var hexCode = color.get().getHexCode();
-      if (hexCode == null) {
-        continue;
-      }
-      final var builder = new StringBuilder("§x");
-      final var charArray = hexCode.toCharArray();
-      for (final var ch : charArray) {
-        builder.append('§').append(ch);
-      }
-      replaced = replaced.replace(match.group(), builder.toString());
-    }
-    return ChatColor.translateAlternateColorCodes('&', replaced);
   }
 
   /**
@@ -552,7 +542,7 @@ public final class XColor {
     final var match = XColor.HEX_DE_COLORIZE_NAME.matcher(replaced);
     while (match.find()) {
       final var reg = match.group(3).replace("&", "");
-      final var custom = XColor.CUSTOM_BY_HEX.get(reg.toLowerCase());
+      final var custom = XColor.getCustomByHex(reg);
       if (custom != null && custom.getName() != null) {
         replaced = replaced.replace(match.group(), "{#" + custom.getName()
           .toLowerCase(Locale.ROOT)
@@ -586,11 +576,24 @@ public final class XColor {
   @NotNull
   public static Optional<XColor> getByCustomName(@NotNull final String name) {
     if (!name.equalsIgnoreCase("random")) {
-      return Optional.ofNullable(XColor.CUSTOM_BY_NAME.get(name.toLowerCase().replace("_", "")));
+      if (!XColor.CUSTOM_BY_NAME.isEmpty()) {
+        final var custom = XColor.CUSTOM_BY_NAME.get(name.toLowerCase().replace("_", ""));
+        if (custom != null) {
+          return Optional.of(custom);
+        }
+      }
+      return Optional.ofNullable(CustomColors.getByName(name));
+    }
+    final var added = XColor.CUSTOM_BY_NAME.size();
+    final var count = added + CustomColors.getRegisteredCount();
+    if (count == 0) {
+      return Optional.empty();
     }
-    final var valuesList = new ArrayList<>(XColor.CUSTOM_BY_NAME.values());
-    final var randomIndex = XColor.RANDOM.nextInt(valuesList.size());
-    return Optional.ofNullable(valuesList.get(randomIndex));
+    final var randomIndex = XColor.RANDOM.nextInt(count);
+    if (randomIndex < added) {
+      return Optional.ofNullable(new ArrayList<>(XColor.CUSTOM_BY_NAME.values()).get(randomIndex));
+    }
+    return Optional.ofNullable(CustomColors.getRegistered(randomIndex - added));
   }
 
   /**
@@ -609,7 +612,7 @@ public final class XColor {
     if (replaced.endsWith("}")) {
       replaced = replaced.substring(0, replaced.length() - "}".length());
     }
-    return Optional.ofNullable(XColor.CUSTOM_BY_HEX.get(replaced.toLowerCase().replace("_", "")));
+    return Optional.ofNullable(XColor.getCustomByHex(replaced.replace("_", "")));
   }
 
   /**
@@ -629,33 +632,29 @@ public final class XColor {
     if (closest != null) {
       return closest;
     }
-    final Color color1;
+    final int red1;
+    final int green1;
+    final int blue1;
     try {
-      color1 = new Color(Integer.valueOf(
-        replaced.substring(0, 2), 16),
-        Integer.valueOf(replaced.substring(2, 4), 16),
-        Integer.valueOf(replaced.substring(4, 6), 16));
+      red1 = Integer.parseInt(replaced.substring(0, 2), 16);
+      green1 = Integer.parseInt(replaced.substring(2, 4), 16);
+      blue1 = Integer.parseInt(replaced.substring(4, 6), 16);
     } catch (final Throwable e) {
       return null;
     }
-    var distance = Double.MAX_VALUE;
-    for (final var entry : XColor.CUSTOM_BY_HEX.entrySet()) {
-      final var value = entry.getValue();
-      final var colorHexCode = value.getHexCode();
-      if (colorHexCode == null) {
+    if (red1 < 0 || green1 < 0 || blue1 < 0) {
+      return null;
+    }
+    var distance = Long.MAX_VALUE;
+    closest = CustomColors.getClosest(red1, green1, blue1);
+    if (closest != null) {
+      distance = CustomColors.distance(closest.getRed(), closest.getGreen(), closest.getBlue(), red1, green1, blue1);
+    }
+    for (final var value : XColor.CUSTOM_BY_HEX.values()) {
+      if (value.getHexCode() == null) {
         continue;
       }
-      final var color2 = new Color(
-        Integer.valueOf(colorHexCode.substring(0, 2), 16),
-        Integer.valueOf(colorHexCode.substring(2, 4), 16),
-        Integer.valueOf(colorHexCode.substring(4, 6), 16));
-      final var red2 = color2.getRed();
-      final var red1 = color1.getRed();
-      final var remaining = red2 + red1 >> 1;
-      final var red = red2 - red1;
-      final var green = color2.getGreen() - color1.getGreen();
-      final var blue = color2.getBlue() - color1.getBlue();
-      final var dist = Math.sqrt(((512 + remaining) * red * red >> 8) + 4 * green * green + ((767 - remaining) * blue * blue >> 8));
+      final var dist = CustomColors.distance(value.getRed(), value.getGreen(), value.getBlue(), red1, green1, blue1);
       if (dist < distance) {
         closest = value;
         distance = dist;
@@ -761,6 +760,14 @@ public final class XColor {
 
   /**
    * gets last colors of the text.
+   * <p>
+   * scans the colored text backwards until the last color, hex color or reset, then collects the formats that follow
+   * it. hex colors are returned as {@code {#rrggbb}} or {@code {#name}} for the custom colors, the others are returned
+   * with {@link ChatColor#COLOR_CHAR}.
+   * <p>
+   * breaking change: the formats after a hex color are returned after that color, e.g. {@code {#123456}&lBold} gives
+   * {@code {#123456}§l}. the previous regex implementation returned the formats alone, {@code §l}, and dropped the hex
+   * color. the texts without a format after the last hex color give the same result as before.
    *
    * @param text the text to get.
    *
@@ -768,28 +775,61 @@ public final class XColor {
    */
   @NotNull
   public static String getLastColors(@NotNull final String text) {
-    final var replaced = XColor.deColorize(text);
-    var match = XColor.HEX_COLOR_REGEX_LAST.matcher(replaced);
-    if (match.find()) {
-      final var colorByHex = match.group(0);
-      if (replaced.endsWith(colorByHex)) {
-        return colorByHex;
+    final var colored = text.indexOf('&') == -1 && !text.contains("{#")
+      ? text
+      : XColor.colorize(text);
+    final var length = colored.length();
+    var anchor = -1;
+    var anchorLength = 0;
+    for (var index = length - 2; index >= 0; index--) {
+      if (colored.charAt(index) != ChatColor.COLOR_CHAR) {
+        continue;
       }
-      final var split = replaced.split(XColor.escape(colorByHex), 2);
-      final var last = XColor.getLastColors(split[1]);
-      return last.isEmpty() ? colorByHex : last;
+      if (index >= 12 && XColor.isHexSequence(colored, index - 12)) {
+        anchor = index - 12;
+        anchorLength = 14;
+        break;
+      }
+      final var code = Character.toLowerCase(colored.charAt(index + 1));
+      if (XColor.isColorChar(code) || code == 'r') {
+        anchor = index;
+        anchorLength = 2;
+        break;
+      }
+    }
+    StringBuilder builder = null;
+    if (anchorLength == 14) {
+      final var hex = new char[6];
+      for (var index = 0; index < hex.length; index++) {
+        hex[index] = colored.charAt(anchor + 3 + index * 2);
+      }
+      final var reg = new String(hex);
+      final var custom = XColor.getCustomByHex(reg);
+      builder = new StringBuilder("{#");
+      if (custom != null && custom.getName() != null) {
+        builder.append(custom.getName().toLowerCase(Locale.ROOT).replace("_", ""));
+      } else {
+        builder.append(reg);
+      }
+      builder.append('}');
+    } else if (anchorLength == 2) {
+      builder = new StringBuilder(4)
+        .append(ChatColor.COLOR_CHAR)
+        .append(Character.toLowerCase(colored.charAt(anchor + 1)));
     }
-    match = XColor.HEX_COLOR_NAME_LAST.matcher(replaced);
-    if (match.find()) {
-      final var colorByName = match.group();
-      if (replaced.endsWith(colorByName)) {
-        return colorByName;
+    for (var index = anchor == -1 ? 0 : anchor + anchorLength; index < length - 1; index++) {
+      if (colored.charAt(index) != ChatColor.COLOR_CHAR) {
+        continue;
+      }
+      final var code = Character.toLowerCase(colored.charAt(index + 1));
+      if (XColor.isFormatChar(code)) {
+        if (builder == null) {
+          builder = new StringBuilder(4);
+        }
+        builder.append(ChatColor.COLOR_CHAR).append(code);
       }
-      final var split = replaced.split(XColor.escape(colorByName), 2);
-      final var last = XColor.getLastColors(split[1]);
-      return last.isEmpty() ? colorByName : last;
     }
-    return ChatColor.getLastColors(XColor.colorize(replaced));
+    return builder == null ? "" : builder.toString();
   }
 
   /**
@@ -815,6 +855,194 @@ public final class XColor {
    */
   @NotNull
   public static String gradient(@NotNull final String text) {
+    try (final var ignored = Metrics.start(Phase.GRADIENT, null, text)) {
+      return XColor.applyGradients(text);
+    }
+  }
+
+  /**
+   * mixes the colors.
+   *
+   * @param color1 the color 1 to mix.
+   * @param color2 the color 2 to mix.
+   * @param percent the percent to mix.
+   *
+   * @return mixed colors.
+   */
+  @NotNull
+  public static XColor mixColors(@NotNull final XColor color1, @NotNull final XColor color2, final double percent) {
+    final var finalPercent = percent / 100.0;
+    final var inversePercent = 1.0 - finalPercent;
+    final var redPart = (int) (color2.getRed() * finalPercent + color1.getRed() * inversePercent);
+    final var greenPart = (int) (color2.getGreen() * finalPercent + color1.getGreen() * inversePercent);
+    final var bluePart = (int) (color2.getBlue() * finalPercent + color1.getBlue() * inversePercent);
+    return new XColor(String.format("#%02x%02x%02x", redPart, greenPart, bluePart));
+  }
+
+  /**
+   * strips colors.
+   *
+   * @param text the text to strip.
+   *
+   * @return strip text.
+   */
+  @NotNull
+  public static String stripColor(@NotNull final String text) {
+    return ChatColor.stripColor(XColor.colorize(text));
+  }
+
+  /**
+   * wraps the given text into colored lines that are not longer than the given width.
+   * <p>
+   * the text is colorized once, then the width is measured without the color codes and the lines are broken at the
+   * spaces, the words that are longer than the width are broken at the width. line breaks in the text start new lines.
+   * the color that is active at a break and the formats after it are added to the next line before its first visible
+   * character, so the codes that start the next line collapse into them instead of following them.
+   *
+   * @param text the text to wrap.
+   * @param width the maximum visible width of the lines.
+   *
+   * @return wrapped lines.
+   *
+   * @throws IllegalArgumentException if the width is not positive.
+   */
+  @NotNull
+  public static List<String> wrap(@NotNull final String text, final int width) {
+    if (width <= 0) {
+      throw new IllegalArgumentException("Width must be positive!");
+    }
+    try (final var ignored = Metrics.start(Phase.WRAP, null, text)) {
+      final var colored = XColor.colorize(text);
+      final var length = colored.length();
+      final var lines = new ArrayList<String>();
+      final var line = new StringBuilder(width * 2);
+      var colorStart = -1;
+      var colorLength = 0;
+      var formats = 0;
+      var lineWidth = 0;
+      var broken = false;
+      var pending = false;
+      var index = 0;
+      while (index < length) {
+        if (colored.charAt(index) == '\n') {
+          lines.add(line.toString());
+          line.setLength(0);
+          pending = true;
+          lineWidth = 0;
+          broken = false;
+          index++;
+          continue;
+        }
+        var spaces = 0;
+        while (index < length && colored.charAt(index) == ' ') {
+          spaces++;
+          index++;
+        }
+        final var wordStart = index;
+        var wordWidth = 0;
+        while (index < length && colored.charAt(index) != ' ' && colored.charAt(index) != '\n') {
+          final var codeLength = XColor.codeLength(colored, index);
+          if (codeLength == 0) {
+            wordWidth++;
+            index++;
+          } else {
+            index += codeLength;
+          }
+        }
+        if (lineWidth > 0 && lineWidth + spaces + wordWidth > width) {
+          lines.add(line.toString());
+          line.setLength(0);
+          pending = true;
+          lineWidth = 0;
+          broken = true;
+        } else if (lineWidth > 0 || !broken) {
+          for (var space = 0; space < spaces; space++) {
+            if (lineWidth == width) {
+              break;
+            }
+            if (pending) {
+              XColor.appendState(line, colored, colorStart, colorLength, formats);
+              pending = false;
+            }
+            line.append(' ');
+            lineWidth++;
+          }
+        }
+        var cursor = wordStart;
+        while (cursor < index) {
+          final var codeLength = XColor.codeLength(colored, cursor);
+          if (codeLength == 0) {
+            if (lineWidth == width) {
+              lines.add(line.toString());
+              line.setLength(0);
+              pending = true;
+              lineWidth = 0;
+              broken = true;
+            }
+            if (pending) {
+              XColor.appendState(line, colored, colorStart, colorLength, formats);
+              pending = false;
+            }
+            line.append(colored.charAt(cursor));
+            lineWidth++;
+            cursor++;
+            continue;
+          }
+          if (!pending) {
+            line.append(colored, cursor, cursor + codeLength);
+          }
+          final var code = Character.toLowerCase(colored.charAt(cursor + 1));
+          if (codeLength == 14 || XColor.isColorChar(code)) {
+            colorStart = cursor;
+            colorLength = codeLength;
+            formats = 0;
+          } else if (code == 'r') {
+            colorStart = -1;
+            colorLength = 0;
+            formats = 0;
+          } else if (XColor.isFormatChar(code)) {
+            formats |= 1 << code - 'k';
+          }
+          cursor += codeLength;
+        }
+      }
+      if (lineWidth > 0 || lines.isEmpty()) {
+        lines.add(line.toString());
+      }
+      return lines;
+    }
+  }
+
+  /**
+   * appends the given color and formats.
+   *
+   * @param builder the builder to append.
+   * @param text the text that contains the color.
+   * @param colorStart the color start, -1 if there is no color.
+   * @param colorLength the color length.
+   * @param formats the formats, bit {@code i} is the format char {@code 'k' + i}.
+   */
+  private static void appendState(@NotNull final StringBuilder builder, @NotNull final String text,
+                                  final int colorStart, final int colorLength, final int formats) {
+    if (colorStart != -1) {
+      builder.append(text, colorStart, colorStart + colorLength);
+    }
+    for (var format = 0; format < 5; format++) {
+      if ((formats & 1 << format) != 0) {
+        builder.append(ChatColor.COLOR_CHAR).append((char) ('k' + format));
+      }
+    }
+  }
+
+  /**
+   * replaces the gradients in the text.
+   *
+   * @param text the text to replace.
+   *
+   * @return replaced text.
+   */
+  @NotNull
+  private static String applyGradients(@NotNull final String text) {
     var replaced = text;
     final var matcher = XColor.GRADIENT.matcher(replaced);
     while (matcher.find()) {
@@ -861,46 +1089,119 @@ public final class XColor {
   }
 
   /**
-   * mixes the colors.
+   * obtains the length of the color code at the given index.
    *
-   * @param color1 the color 1 to mix.
-   * @param color2 the color 2 to mix.
-   * @param percent the percent to mix.
+   * @param text the text to obtain.
+   * @param index the index to obtain.
    *
-   * @return mixed colors.
+   * @return 14 for hex sequences, 2 for the other codes, 0 if there is no code.
+   */
+  private static int codeLength(@NotNull final String text, final int index) {
+    if (index + 1 >= text.length() || text.charAt(index) != ChatColor.COLOR_CHAR) {
+      return 0;
+    }
+    final var code = Character.toLowerCase(text.charAt(index + 1));
+    if (code == 'x' && XColor.isHexSequence(text, index)) {
+      return 14;
+    }
+    if (XColor.isColorChar(code) || XColor.isFormatChar(code) || code == 'r' || code == 'x') {
+      return 2;
+    }
+    return 0;
+  }
+
+  /**
+   * colorizes the gradients, the hex colors and the legacy colors in the text.
+   *
+   * @param text the text to colorize.
+   *
+   * @return colored text.
    */
   @NotNull
-  public static XColor mixColors(@NotNull final XColor color1, @NotNull final XColor color2, final double percent) {
-    final var finalPercent = percent / 100.0;
-    final var inversePercent = 1.0 - finalPercent;
-    final var redPart = (int) (color2.getRed() * finalPercent + color1.getRed() * inversePercent);
-    final var greenPart = (int) (color2.getGreen() * finalPercent + color1.getGreen() * inversePercent);
-    final var bluePart = (int) (color2.getBlue() * finalPercent + color1.getBlue() * inversePercent);
-    return new XColor(String.format("#%02x%02x%02x", redPart, greenPart, bluePart));
+  private static String colorizeText(@NotNull final String text) {
+    var replaced = XColor.gradient(text);
+    if (!replaced.contains("{#")) {
+      return ChatColor.translateAlternateColorCodes('&', replaced);
+    }
+    var match = XColor.HEX_COLOR_REGEX.matcher(replaced);
+    var builder = new StringBuilder(replaced.length() + 32);
+    var last = 0;
+    while (match.find()) {
+      builder.append(replaced, last, match.start()).append(XColor.getEncoded(match.group(2)));
+      last = match.end();
+    }
+    replaced = builder.append(replaced, last, replaced.length()).toString();
+    match = XColor.HEX_COLOR_NAME.matcher(replaced);
+    builder = new StringBuilder(replaced.length() + 32);
+    last = 0;
+    while (match.find()) {
+      final var color = XColor.getByCustomName(match.group(2).toLowerCase().replace("_", ""));
+      if (color.isEmpty() || color.get().getHexCode() == null) {
+        continue;
+      }
+      builder.append(replaced, last, match.start()).append(color.get().getBukkitColorCode());
+      last = match.end();
+    }
+    replaced = builder.append(replaced, last, replaced.length()).toString();
+    return ChatColor.translateAlternateColorCodes('&', replaced);
   }
 
   /**
-   * strips colors.
+   * encodes the given hex code as {@code §x§r§r§g§g§b§b}.
    *
-   * @param text the text to strip.
+   * @param hexCode the hex code to encode, 3 digit codes are expanded.
    *
-   * @return strip text.
+   * @return encoded hex sequence.
    */
   @NotNull
-  public static String stripColor(@NotNull final String text) {
-    return ChatColor.stripColor(XColor.colorize(text));
+  private static String encode(@NotNull final String hexCode) {
+    final var shortCode = hexCode.length() == 3;
+    final var chars = new char[14];
+    chars[0] = '§';
+    chars[1] = 'x';
+    for (var index = 0; index < 6; index++) {
+      chars[2 + index * 2] = '§';
+      chars[3 + index * 2] = hexCode.charAt(shortCode ? index / 2 : index);
+    }
+    return new String(chars);
+  }
+
+  /**
+   * gets custom color from {@link #CUSTOM_BY_HEX} or the registered {@link CustomColors}.
+   *
+   * @param hexCode the hex code to get.
+   *
+   * @return custom color.
+   */
+  @Nullable
+  private static XColor getCustomByHex(@NotNull final String hexCode) {
+    if (!XColor.CUSTOM_BY_HEX.isEmpty()) {
+      final var custom = XColor.CUSTOM_BY_HEX.get(hexCode.toLowerCase());
+      if (custom != null) {
+        return custom;
+      }
+    }
+    return CustomColors.getByHex(hexCode);
   }
 
   /**
-   * adds escapes to the text.
+   * obtains the encoded hex sequence of the given hex code from {@link #ENCODED}.
    *
-   * @param text the text to add.
+   * @param hexCode the hex code to obtain.
    *
-   * @return escape text.
+   * @return encoded hex sequence.
    */
   @NotNull
-  private static String escape(@NotNull final String text) {
-    return text.replace("#", "\\#").replace("{", "\\{").replace("}", "\\}");
+  private static String getEncoded(@NotNull final String hexCode) {
+    final var encoded = XColor.ENCODED.get(hexCode);
+    if (encoded != null) {
+      return encoded;
+    }
+    final var created = XColor.encode(hexCode);
+    if (XColor.ENCODED.size() < XColor.ENCODED_MAXIMUM_SIZE) {
+      XColor.ENCODED.put(hexCode, created);
+    }
+    return created;
   }
 
   /**
@@ -924,7 +1225,52 @@ public final class XColor {
     if (color != null) {
       return Optional.of(color);
     }
-    return Optional.empty();
+    return Optional.ofNullable(CustomColors.getByName(formatted));
+  }
+
+  /**
+   * checks if the given char is a legacy color char.
+   *
+   * @param ch the ch to check.
+   *
+   * @return {@code true} if the char is between {@code 0-9} or {@code a-f}.
+   */
+  private static boolean isColorChar(final char ch) {
+    return ch >= '0' && ch <= '9' || ch >= 'a' && ch <= 'f';
+  }
+
+  /**
+   * checks if the given char is a format char.
+   *
+   * @param ch the ch to check.
+   *
+   * @return {@code true} if the char is between {@code k-o}.
+   */
+  private static boolean isFormatChar(final char ch) {
+    return ch >= 'k' && ch <= 'o';
+  }
+
+  /**
+   * checks if the text has a {@code §x§r§r§g§g§b§b} sequence at the given index.
+   *
+   * @param text the text to check.
+   * @param index the index to check.
+   *
+   * @return {@code true} if there is a hex sequence.
+   */
+  static boolean isHexSequence(@NotNull final String text, final int index) {
+    if (index + 14 > text.length() ||
+      text.charAt(index) != ChatColor.COLOR_CHAR ||
+      text.charAt(index + 1) != 'x') {
+      return false;
+    }
+    for (var offset = 2; offset < 14; offset += 2) {
+      if (text.charAt(index + offset) != ChatColor.COLOR_CHAR ||
+        Character.digit(text.charAt(index + offset + 1), 16) == -1) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -934,10 +1280,7 @@ public final class XColor {
    */
   @NotNull
   public String getBukkitColorCode() {
-    if (this.hexCode != null) {
-      return XColor.colorize("{#" + this.hexCode + "}");
-    }
-    return "§" + this.getChar();
+    return this.bukkitColorCode;
   }
 
   /**
@@ -0,0 +1,343 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents {@link ItemMetrics} which attributes allocated bytes to each {@link Phase} per builder type.
+ * <p>
+ * the allocated bytes are read from {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} when a
+ * phase starts and ends. nested phases are kept in a thread local stack, so the self bytes of a phase exclude the
+ * bytes of the phases that run inside of it, while the inclusive bytes contain them. the builder type of a phase is
+ * resolved from the context given to {@link Metrics#start(Phase, Object)}, phases without a context inherit the type
+ * of the enclosing phase.
+ * <p>
+ * this is a diagnostic mode, reading the allocated bytes is not free, so it should not be installed permanently.
+ */
+public final class AllocationProfiler implements ItemMetrics {
+
+  /**
+   * the unknown builder type.
+   */
+  public static final String UNKNOWN_TYPE = "unknown";
+
+  /**
+   * the count offset.
+   */
+  private static final int COUNT = 0;
+
+  /**
+   * the inclusive bytes offset.
+   */
+  private static final int INCLUSIVE = 2;
+
+  /**
+   * the self bytes offset.
+   */
+  private static final int SELF = 1;
+
+  /**
+   * the slot count of each phase.
+   */
+  private static final int SLOTS = 3;
+
+  /**
+   * the frames.
+   */
+  @NotNull
+  private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+  /**
+   * the stats by builder type.
+   */
+  @NotNull
+  private final Map<String, AtomicLongArray> stats = new ConcurrentHashMap<>();
+
+  /**
+   * the thread bean.
+   */
+  @NotNull
+  private final com.sun.management.ThreadMXBean threads;
+
+  /**
+   * ctor.
+   *
+   * @throws IllegalStateException if the jvm does not support thread allocated memory measurement.
+   */
+  public AllocationProfiler() {
+    if (!AllocationProfiler.isSupported()) {
+      throw new IllegalStateException("Thread allocated memory measurement is not supported by the jvm!");
+    }
+    this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!this.threads.isThreadAllocatedMemoryEnabled()) {
+      this.threads.setThreadAllocatedMemoryEnabled(true);
+    }
+  }
+
+  /**
+   * creates an allocation profiler and adds it to the installed metrics.
+   * <p>
+   * remove it through {@link Metrics#remove(ItemMetrics)} when the diagnosis is done.
+   *
+   * @return installed allocation profiler.
+   *
+   * @throws IllegalStateException if the jvm does not support thread allocated memory measurement.
+   */
+  @NotNull
+  public static AllocationProfiler install() {
+    final var profiler = new AllocationProfiler();
+    Metrics.add(profiler);
+    return profiler;
+  }
+
+  /**
+   * checks if the jvm supports thread allocated memory measurement.
+   *
+   * @return {@code true} if the profiler can be created.
+   */
+  public static boolean isSupported() {
+    final var bean = ManagementFactory.getThreadMXBean();
+    return bean instanceof com.sun.management.ThreadMXBean &&
+      ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+  }
+
+  /**
+   * resolves the builder type of the given context.
+   *
+   * @param context the context to resolve.
+   *
+   * @return builder type.
+   */
+  @NotNull
+  private static String type(@NotNull final Object context) {
+    final var cls = context instanceof Class<?> ? (Class<?>) context : context.getClass();
+    return cls.getSimpleName();
+  }
+
+  /**
+   * dumps the breakdown as a human readable table.
+   *
+   * @return dumped breakdown.
+   */
+  @NotNull
+  public String dump() {
+    final var builder = new StringBuilder();
+    new TreeMap<>(this.stats).forEach((type, slots) -> {
+      builder.append(type).append('\n');
+      for (final var phase : Phase.values()) {
+        final var index = phase.ordinal() * AllocationProfiler.SLOTS;
+        final var count = slots.get(index + AllocationProfiler.COUNT);
+        if (count == 0L) {
+          continue;
+        }
+        final var self = slots.get(index + AllocationProfiler.SELF);
+        builder.append("  ").append(phase.name())
+          .append(" count=").append(count)
+          .append(" self=").append(self)
+          .append(" inclusive=").append(slots.get(index + AllocationProfiler.INCLUSIVE))
+          .append(" self/op=").append(self / count)
+          .append('\n');
+      }
+    });
+    return builder.toString();
+  }
+
+  /**
+   * obtains the sample count of the given builder type and phase.
+   *
+   * @param type the type to obtain.
+   * @param phase the phase to obtain.
+   *
+   * @return sample count.
+   */
+  public long getCount(@NotNull final String type, @NotNull final Phase phase) {
+    return this.slot(type, phase, AllocationProfiler.COUNT);
+  }
+
+  /**
+   * obtains the bytes that allocated by the given builder type and phase including its nested phases.
+   *
+   * @param type the type to obtain.
+   * @param phase the phase to obtain.
+   *
+   * @return inclusive allocated bytes.
+   */
+  public long getInclusiveBytes(@NotNull final String type, @NotNull final Phase phase) {
+    return this.slot(type, phase, AllocationProfiler.INCLUSIVE);
+  }
+
+  /**
+   * obtains the bytes that allocated by the given builder type and phase excluding its nested phases.
+   *
+   * @param type the type to obtain.
+   * @param phase the phase to obtain.
+   *
+   * @return self allocated bytes.
+   */
+  public long getSelfBytes(@NotNull final String type, @NotNull final Phase phase) {
+    return this.slot(type, phase, AllocationProfiler.SELF);
+  }
+
+  /**
+   * obtains the builder types that have samples.
+   *
+   * @return builder types.
+   */
+  @NotNull
+  public Set<String> getTypes() {
+    return Collections.unmodifiableSet(this.stats.keySet());
+  }
+
+  /**
+   * clears the breakdown.
+   */
+  public void reset() {
+    this.stats.clear();
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase) {
+    return this.start(phase, null);
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase, @Nullable final Object context) {
+    final var stack = this.frames.get();
+    final var parent = stack.peek();
+    final String type;
+    if (context != null) {
+      type = AllocationProfiler.type(context);
+    } else if (parent != null) {
+      type = parent.type;
+    } else {
+      type = AllocationProfiler.UNKNOWN_TYPE;
+    }
+    final var frame = new Frame(phase, type, this.allocated());
+    stack.push(frame);
+    return () -> this.end(stack, frame);
+  }
+
+  /**
+   * obtains the allocated bytes of the current thread.
+   *
+   * @return allocated bytes.
+   */
+  private long allocated() {
+    return this.threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * ends the given frame and records its bytes.
+   *
+   * @param stack the stack to end.
+   * @param frame the frame to end.
+   */
+  private void end(@NotNull final Deque<Frame> stack, @NotNull final Frame frame) {
+    final var inclusive = this.allocated() - frame.start;
+    stack.remove(frame);
+    final var parent = stack.peek();
+    if (parent != null) {
+      parent.nested += inclusive;
+    }
+    final var slots = this.stats.computeIfAbsent(frame.type, type ->
+      new AtomicLongArray(Phase.values().length * AllocationProfiler.SLOTS));
+    final var index = frame.phase.ordinal() * AllocationProfiler.SLOTS;
+    slots.incrementAndGet(index + AllocationProfiler.COUNT);
+    slots.addAndGet(index + AllocationProfiler.SELF, inclusive - frame.nested);
+    slots.addAndGet(index + AllocationProfiler.INCLUSIVE, inclusive);
+  }
+
+  /**
+   * obtains the slot of the given builder type and phase.
+   *
+   * @param type the type to obtain.
+   * @param phase the phase to obtain.
+   * @param offset the offset to obtain.
+   *
+   * @return slot value.
+   */
+  private long slot(@NotNull final String type, @NotNull final Phase phase, final int offset) {
+    final var slots = this.stats.get(type);
+    if (slots == null) {
+      return 0L;
+    }
+    return slots.get(phase.ordinal() * AllocationProfiler.SLOTS + offset);
+  }
+
+  /**
+   * a class that represents running phases.
+   */
+  private static final class Frame {
+
+    /**
+     * the nested bytes.
+     */
+    private long nested;
+
+    /**
+     * the phase.
+     */
+    @NotNull
+    private final Phase phase;
+
+    /**
+     * the start.
+     */
+    private final long start;
+
+    /**
+     * the type.
+     */
+    @NotNull
+    private final String type;
+
+    /**
+     * ctor.
+     *
+     * @param phase the phase.
+     * @param type the type.
+     * @param start the start.
+     */
+    private Frame(@NotNull final Phase phase, @NotNull final String type, final long start) {
+      this.phase = phase;
+      this.type = type;
+      this.start = start;
+    }
+  }
+}
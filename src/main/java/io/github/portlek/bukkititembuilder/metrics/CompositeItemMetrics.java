@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents {@link ItemMetrics} which starts a sample of each phase on all of the given metrics.
+ * <p>
+ * the samples are closed in the reverse order of their start, so each metrics sees its own phases nested.
+ */
+final class CompositeItemMetrics implements ItemMetrics {
+
+  /**
+   * the metrics.
+   */
+  @NotNull
+  private final ItemMetrics[] metrics;
+
+  /**
+   * ctor.
+   *
+   * @param metrics the metrics.
+   */
+  CompositeItemMetrics(@NotNull final ItemMetrics[] metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * combines the given samples into a sample that closes them in the reverse order.
+   *
+   * @param samples the samples to combine.
+   *
+   * @return a sample that closes all of the given samples.
+   */
+  @NotNull
+  private static Sample combine(@NotNull final Sample[] samples) {
+    return () -> {
+      for (var index = samples.length - 1; index >= 0; index--) {
+        samples[index].close();
+      }
+    };
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase) {
+    final var samples = new Sample[this.metrics.length];
+    for (var index = 0; index < samples.length; index++) {
+      samples[index] = this.metrics[index].start(phase);
+    }
+    return CompositeItemMetrics.combine(samples);
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase, @Nullable final Object context) {
+    final var samples = new Sample[this.metrics.length];
+    for (var index = 0; index < samples.length; index++) {
+      samples[index] = this.metrics[index].start(phase, context);
+    }
+    return CompositeItemMetrics.combine(samples);
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase, @Nullable final Object context, @Nullable final Object subject) {
+    final var samples = new Sample[this.metrics.length];
+    for (var index = 0; index < samples.length; index++) {
+      samples[index] = this.metrics[index].start(phase, context, subject);
+    }
+    return CompositeItemMetrics.combine(samples);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an interface to determine instrumentations of the builder hot paths.
+ * <p>
+ * implementations are installed through {@link Metrics#set(ItemMetrics)}, or added next to the installed ones through
+ * {@link Metrics#add(ItemMetrics)}, the default one is {@link #NOOP} which records nothing.
+ */
+@FunctionalInterface
+public interface ItemMetrics {
+
+  /**
+   * the no-op metrics.
+   */
+  ItemMetrics NOOP = phase -> Sample.NOOP;
+
+  /**
+   * starts a sample of the given phase.
+   *
+   * @param phase the phase to start.
+   *
+   * @return a sample to close when the phase ends.
+   */
+  @NotNull
+  Sample start(@NotNull Phase phase);
+
+  /**
+   * starts a sample of the given phase with a context.
+   * <p>
+   * the context is the builder, or the builder class, that the phase runs for.
+   *
+   * @param phase the phase to start.
+   * @param context the context to start.
+   *
+   * @return a sample to close when the phase ends.
+   */
+  @NotNull
+  default Sample start(@NotNull final Phase phase, @Nullable final Object context) {
+    return this.start(phase);
+  }
+
+  /**
+   * starts a sample of the given phase with a context and a subject.
+   * <p>
+   * the subject is the input that the phase works on, such as the holder of a deserializer or the text of a colorize.
+   *
+   * @param phase the phase to start.
+   * @param context the context to start.
+   * @param subject the subject to start.
+   *
+   * @return a sample to close when the phase ends.
+   */
+  @NotNull
+  default Sample start(@NotNull final Phase phase, @Nullable final Object context, @Nullable final Object subject) {
+    return this.start(phase, context);
+  }
+
+  /**
+   * an interface to determine running samples of {@link Phase}.
+   */
+  @FunctionalInterface
+  interface Sample extends AutoCloseable {
+
+    /**
+     * the no-op sample.
+     */
+    Sample NOOP = () -> {
+    };
+
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents {@link ItemMetrics} which exposes each {@link Phase} as a {@link PhaseStatsMBean}.
+ * <p>
+ * the beans are registered under {@value #DOMAIN} with {@code type=ItemMetrics,phase=<phase name>}.
+ */
+public final class JmxItemMetrics implements ItemMetrics {
+
+  /**
+   * the domain of the object names.
+   */
+  public static final String DOMAIN = "io.github.portlek.bukkititembuilder";
+
+  /**
+   * the server.
+   */
+  @NotNull
+  private final MBeanServer server;
+
+  /**
+   * the stats.
+   */
+  @NotNull
+  private final Map<Phase, PhaseStats> stats = new EnumMap<>(Phase.class);
+
+  /**
+   * ctor.
+   *
+   * @param server the server.
+   */
+  public JmxItemMetrics(@NotNull final MBeanServer server) {
+    this.server = server;
+    for (final var phase : Phase.values()) {
+      this.stats.put(phase, new PhaseStats(phase));
+    }
+  }
+
+  /**
+   * creates and registers a jmx metrics on the platform server and adds it to the installed metrics.
+   *
+   * @return installed jmx metrics.
+   */
+  @NotNull
+  public static JmxItemMetrics install() {
+    final var metrics = new JmxItemMetrics(ManagementFactory.getPlatformMBeanServer());
+    metrics.register();
+    Metrics.add(metrics);
+    return metrics;
+  }
+
+  /**
+   * creates the object name of the given phase.
+   *
+   * @param phase the phase to create.
+   *
+   * @return object name.
+   *
+   * @throws JMException if the name is malformed.
+   */
+  @NotNull
+  public static ObjectName objectName(@NotNull final Phase phase) throws JMException {
+    return new ObjectName(JmxItemMetrics.DOMAIN + ":type=ItemMetrics,phase=" + phase.name());
+  }
+
+  /**
+   * obtains the stats of the given phase.
+   *
+   * @param phase the phase to obtain.
+   *
+   * @return phase stats.
+   */
+  @NotNull
+  public PhaseStats getStats(@NotNull final Phase phase) {
+    return this.stats.get(phase);
+  }
+
+  /**
+   * registers the beans of every phase, already registered ones are replaced.
+   */
+  public void register() {
+    try {
+      for (final var entry : this.stats.entrySet()) {
+        final var name = JmxItemMetrics.objectName(entry.getKey());
+        if (this.server.isRegistered(name)) {
+          this.server.unregisterMBean(name);
+        }
+        this.server.registerMBean(entry.getValue(), name);
+      }
+    } catch (final JMException e) {
+      throw new IllegalStateException("Couldn't register the item metrics!", e);
+    }
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase) {
+    final var stats = this.stats.get(phase);
+    final var start = System.nanoTime();
+    return () -> stats.record(System.nanoTime() - start);
+  }
+
+  /**
+   * unregisters the beans of every phase and removes this from the installed metrics.
+   */
+  public void unregister() {
+    Metrics.remove(this);
+    try {
+      for (final var phase : this.stats.keySet()) {
+        final var name = JmxItemMetrics.objectName(phase);
+        if (this.server.isRegistered(name)) {
+          this.server.unregisterMBean(name);
+        }
+      }
+    } catch (final JMException e) {
+      throw new IllegalStateException("Couldn't unregister the item metrics!", e);
+    }
+  }
+}
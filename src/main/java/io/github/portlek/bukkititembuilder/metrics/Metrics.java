@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains the installed {@link ItemMetrics}.
+ * <p>
+ * several metrics can be installed together through {@link #add(ItemMetrics)}, they are kept in a copy-on-write array
+ * and the current metrics starts a sample on each of them, so the hot paths still read a single volatile field.
+ */
+public final class Metrics {
+
+  /**
+   * the current metrics.
+   */
+  @NotNull
+  private static volatile ItemMetrics current = ItemMetrics.NOOP;
+
+  /**
+   * the installed metrics.
+   */
+  @NotNull
+  private static ItemMetrics[] installed = new ItemMetrics[0];
+
+  /**
+   * ctor.
+   */
+  private Metrics() {
+  }
+
+  /**
+   * adds the given metrics to the installed ones.
+   * <p>
+   * adding the same metrics twice does nothing.
+   *
+   * @param metrics the metrics to add.
+   */
+  public static synchronized void add(@NotNull final ItemMetrics metrics) {
+    if (metrics == ItemMetrics.NOOP || Arrays.asList(Metrics.installed).contains(metrics)) {
+      return;
+    }
+    final var installed = Arrays.copyOf(Metrics.installed, Metrics.installed.length + 1);
+    installed[installed.length - 1] = metrics;
+    Metrics.install(installed);
+  }
+
+  /**
+   * obtains the current metrics.
+   *
+   * @return current metrics.
+   */
+  @NotNull
+  public static ItemMetrics get() {
+    return Metrics.current;
+  }
+
+  /**
+   * checks if a metrics other than {@link ItemMetrics#NOOP} is installed.
+   *
+   * @return {@code true} if the metrics are enabled.
+   */
+  public static boolean isEnabled() {
+    return Metrics.current != ItemMetrics.NOOP;
+  }
+
+  /**
+   * removes the given metrics from the installed ones.
+   *
+   * @param metrics the metrics to remove.
+   */
+  public static synchronized void remove(@NotNull final ItemMetrics metrics) {
+    Metrics.install(Arrays.stream(Metrics.installed)
+      .filter(other -> other != metrics)
+      .toArray(ItemMetrics[]::new));
+  }
+
+  /**
+   * resets the current metrics to {@link ItemMetrics#NOOP}, removes all of the installed metrics.
+   */
+  public static synchronized void reset() {
+    Metrics.install(new ItemMetrics[0]);
+  }
+
+  /**
+   * sets the current metrics, replaces all of the installed metrics.
+   *
+   * @param metrics the metrics to set.
+   */
+  public static synchronized void set(@NotNull final ItemMetrics metrics) {
+    Metrics.install(metrics == ItemMetrics.NOOP ? new ItemMetrics[0] : new ItemMetrics[]{metrics});
+  }
+
+  /**
+   * starts a sample of the given phase on the current metrics.
+   *
+   * @param phase the phase to start.
+   *
+   * @return a sample to close when the phase ends.
+   */
+  @NotNull
+  public static ItemMetrics.Sample start(@NotNull final Phase phase) {
+    return Metrics.current.start(phase);
+  }
+
+  /**
+   * starts a sample of the given phase with a context on the current metrics.
+   *
+   * @param phase the phase to start.
+   * @param context the context to start.
+   *
+   * @return a sample to close when the phase ends.
+   */
+  @NotNull
+  public static ItemMetrics.Sample start(@NotNull final Phase phase, @Nullable final Object context) {
+    return Metrics.current.start(phase, context);
+  }
+
+  /**
+   * starts a sample of the given phase with a context and a subject on the current metrics.
+   *
+   * @param phase the phase to start.
+   * @param context the context to start.
+   * @param subject the subject to start.
+   *
+   * @return a sample to close when the phase ends.
+   */
+  @NotNull
+  public static ItemMetrics.Sample start(@NotNull final Phase phase, @Nullable final Object context,
+                                         @Nullable final Object subject) {
+    return Metrics.current.start(phase, context, subject);
+  }
+
+  /**
+   * installs the given metrics and updates the current metrics.
+   *
+   * @param installed the installed to install.
+   */
+  private static void install(@NotNull final ItemMetrics[] installed) {
+    Metrics.installed = installed;
+    if (installed.length == 0) {
+      Metrics.current = ItemMetrics.NOOP;
+    } else if (installed.length == 1) {
+      Metrics.current = installed[0];
+    } else {
+      Metrics.current = new CompositeItemMetrics(installed);
+    }
+  }
+}
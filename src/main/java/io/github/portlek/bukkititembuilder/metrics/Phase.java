@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+/**
+ * an enum class that contains instrumented phases of the builders.
+ */
+public enum Phase {
+  /**
+   * {@link io.github.portlek.bukkititembuilder.color.XColor#colorize(String)}.
+   */
+  COLORIZE,
+  /**
+   * nbt round trips of {@link io.github.portlek.bukkititembuilder.Builder#addCustomData(Object, Object...)}.
+   */
+  CUSTOM_DATA,
+  /**
+   * deserializing a holder through {@link io.github.portlek.bukkititembuilder.util.ItemStackUtil}.
+   */
+  DESERIALIZE,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.BannerItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_BANNER,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.BookItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_BOOK,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.CrossbowItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_CROSSBOW,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.FireworkItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_FIREWORK,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.Builder.ItemStackDeserializer}.
+   */
+  DESERIALIZE_ITEM_STACK,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.ItemStackBuilder.Deserializer}.
+   */
+  DESERIALIZE_ITEM_STACK_BUILDER,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.LeatherArmorItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_LEATHER_ARMOR,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.MapItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_MAP,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.PotionItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_POTION,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.Builder.SimpleItemStackDeserializer}.
+   */
+  DESERIALIZE_SIMPLE_ITEM_STACK,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.SkullItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_SKULL,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.SpawnEggItemBuilder.Deserializer}.
+   */
+  DESERIALIZE_SPAWN_EGG,
+  /**
+   * enchantment resolution of {@link io.github.portlek.bukkititembuilder.Builder#addEnchantments(String...)} and
+   * {@link io.github.portlek.bukkititembuilder.Builder#addSerializedEnchantments(java.util.Map)}.
+   */
+  ENCHANT,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.Builder#getItemStack(boolean)}.
+   */
+  GET_ITEM_STACK,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.color.XColor#gradient(String)}.
+   */
+  GRADIENT,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.util.KeyUtil.Holder#get(String, Class)},
+   * {@link io.github.portlek.bukkititembuilder.util.KeyUtil.Holder#getAsList(String, Class)} and
+   * {@link io.github.portlek.bukkititembuilder.util.KeyUtil.Holder#getAsMap(String, Class, Class)}.
+   */
+  HOLDER_GET,
+  /**
+   * fetching the meta of an item stack.
+   */
+  META_FETCH,
+  /**
+   * writing the meta back to the item stack.
+   */
+  META_WRITE_BACK,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.util.ItemStackUtil#parseMaterial(String)}.
+   */
+  PARSE_MATERIAL,
+  /**
+   * serializing a builder through {@link io.github.portlek.bukkititembuilder.util.ItemStackUtil}.
+   */
+  SERIALIZE,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.util.SkullTextureCache#apply(org.bukkit.inventory.meta.SkullMeta,
+   * String)}.
+   */
+  SKULL_TEXTURE,
+  /**
+   * {@link io.github.portlek.bukkititembuilder.color.XColor#wrap(String, int)}.
+   */
+  WRAP
+}
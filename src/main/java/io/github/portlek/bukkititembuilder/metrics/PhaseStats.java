@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents count and log2 latency histogram of a {@link Phase}.
+ */
+public final class PhaseStats implements PhaseStatsMBean {
+
+  /**
+   * the bucket count.
+   */
+  public static final int BUCKETS = 64;
+
+  /**
+   * the buckets.
+   */
+  @NotNull
+  private final AtomicLongArray buckets = new AtomicLongArray(PhaseStats.BUCKETS);
+
+  /**
+   * the count.
+   */
+  @NotNull
+  private final LongAdder count = new LongAdder();
+
+  /**
+   * the max.
+   */
+  @NotNull
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * the phase.
+   */
+  @NotNull
+  private final Phase phase;
+
+  /**
+   * the total.
+   */
+  @NotNull
+  private final LongAdder total = new LongAdder();
+
+  /**
+   * ctor.
+   *
+   * @param phase the phase.
+   */
+  public PhaseStats(@NotNull final Phase phase) {
+    this.phase = phase;
+  }
+
+  /**
+   * obtains the bucket index of the given nanos.
+   *
+   * @param nanos the nanos to obtain.
+   *
+   * @return bucket index.
+   */
+  private static int bucket(final long nanos) {
+    return Math.min(PhaseStats.BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(Math.max(0L, nanos)));
+  }
+
+  @Override
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  @Override
+  public long[] getHistogram() {
+    final var histogram = new long[PhaseStats.BUCKETS];
+    for (var index = 0; index < histogram.length; index++) {
+      histogram[index] = this.buckets.get(index);
+    }
+    return histogram;
+  }
+
+  @Override
+  public long getMaxNanos() {
+    return this.max.get();
+  }
+
+  @Override
+  public double getMeanNanos() {
+    final var count = this.count.sum();
+    return count == 0L ? 0.0d : (double) this.total.sum() / count;
+  }
+
+  @Override
+  public long getP50Nanos() {
+    return this.percentile(0.5d);
+  }
+
+  @Override
+  public long getP99Nanos() {
+    return this.percentile(0.99d);
+  }
+
+  @Override
+  public String getPhase() {
+    return this.phase.name();
+  }
+
+  @Override
+  public long getTotalNanos() {
+    return this.total.sum();
+  }
+
+  /**
+   * obtains the upper bound of the bucket that contains the given percentile.
+   *
+   * @param percentile the percentile to obtain, between 0 and 1.
+   *
+   * @return percentile upper bound in nanoseconds, 0 if there is no sample.
+   */
+  public long percentile(final double percentile) {
+    final var histogram = this.getHistogram();
+    var count = 0L;
+    for (final var bucket : histogram) {
+      count += bucket;
+    }
+    if (count == 0L) {
+      return 0L;
+    }
+    final var target = (long) Math.ceil(count * percentile);
+    var seen = 0L;
+    for (var index = 0; index < histogram.length; index++) {
+      seen += histogram[index];
+      if (seen >= target) {
+        return index == PhaseStats.BUCKETS - 1 ? Long.MAX_VALUE : 1L << index;
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * records the given sample.
+   *
+   * @param nanos the nanos to record.
+   */
+  public void record(final long nanos) {
+    this.buckets.incrementAndGet(PhaseStats.bucket(nanos));
+    this.count.increment();
+    this.total.add(nanos);
+    this.max.accumulateAndGet(nanos, Math::max);
+  }
+
+  @Override
+  public void reset() {
+    for (var index = 0; index < PhaseStats.BUCKETS; index++) {
+      this.buckets.set(index, 0L);
+    }
+    this.count.reset();
+    this.max.set(0L);
+    this.total.reset();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+/**
+ * an interface to determine management views of {@link PhaseStats}.
+ */
+public interface PhaseStatsMBean {
+
+  /**
+   * obtains the count of the samples.
+   *
+   * @return sample count.
+   */
+  long getCount();
+
+  /**
+   * obtains the latency histogram.
+   * <p>
+   * the bucket at index {@code i} counts the samples that took less than {@code 2^i} nanoseconds and at least
+   * {@code 2^(i - 1)} nanoseconds.
+   *
+   * @return latency histogram.
+   */
+  long[] getHistogram();
+
+  /**
+   * obtains the longest sample in nanoseconds.
+   *
+   * @return longest sample.
+   */
+  long getMaxNanos();
+
+  /**
+   * obtains the mean of the samples in nanoseconds.
+   *
+   * @return mean of the samples.
+   */
+  double getMeanNanos();
+
+  /**
+   * obtains the upper bound of the median bucket in nanoseconds.
+   *
+   * @return median upper bound.
+   */
+  long getP50Nanos();
+
+  /**
+   * obtains the upper bound of the 99th percentile bucket in nanoseconds.
+   *
+   * @return 99th percentile upper bound.
+   */
+  long getP99Nanos();
+
+  /**
+   * obtains the phase name.
+   *
+   * @return phase name.
+   */
+  String getPhase();
+
+  /**
+   * obtains the total of the samples in nanoseconds.
+   *
+   * @return total of the samples.
+   */
+  long getTotalNanos();
+
+  /**
+   * resets the statistics.
+   */
+  void reset();
+}
@@ -0,0 +1,432 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.metrics;
+
+import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents {@link ItemMetrics} which logs the phases that take longer than a threshold.
+ * <p>
+ * only the outermost phase of a thread is compared with the threshold, the phases that run inside of it are collected
+ * into its breakdown. a daemon thread samples the stack of the outermost phases that are still running after the
+ * threshold, so the log shows where a slow gradient or skull lookup spends its time. the logs are rate limited by a
+ * token bucket, the suppressed ones are counted and reported with the next log.
+ */
+public final class SlowBuildTracer implements ItemMetrics, AutoCloseable {
+
+  /**
+   * the default logger name.
+   */
+  public static final String LOGGER_NAME = "BukkitItemBuilder";
+
+  /**
+   * the maximum length of the subjects in the logs.
+   */
+  public static final int MAXIMUM_SUBJECT_LENGTH = 1024;
+
+  /**
+   * the running outermost frames.
+   */
+  @NotNull
+  private final Map<Thread, Frame> active = new ConcurrentHashMap<>();
+
+  /**
+   * the frames.
+   */
+  @NotNull
+  private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+  /**
+   * the rate limiter.
+   */
+  @NotNull
+  private final RateLimiter limiter;
+
+  /**
+   * the logger.
+   */
+  @NotNull
+  private final Logger logger;
+
+  /**
+   * the sampler.
+   */
+  @NotNull
+  private final ScheduledExecutorService sampler;
+
+  /**
+   * the suppressed log count.
+   */
+  @NotNull
+  private final AtomicLong suppressed = new AtomicLong();
+
+  /**
+   * the threshold in nanoseconds.
+   */
+  private final long threshold;
+
+  /**
+   * ctor.
+   *
+   * @param threshold the threshold.
+   * @param sampleInterval the sample interval.
+   * @param logsPerMinute the logs per minute.
+   * @param logger the logger.
+   */
+  public SlowBuildTracer(@NotNull final Duration threshold, @NotNull final Duration sampleInterval,
+                         final int logsPerMinute, @NotNull final Logger logger) {
+    if (threshold.isNegative() || threshold.isZero()) {
+      throw new IllegalArgumentException("Threshold must be positive!");
+    }
+    if (sampleInterval.isNegative() || sampleInterval.isZero()) {
+      throw new IllegalArgumentException("Sample interval must be positive!");
+    }
+    if (logsPerMinute <= 0) {
+      throw new IllegalArgumentException("Logs per minute must be positive!");
+    }
+    this.threshold = threshold.toNanos();
+    this.limiter = new RateLimiter(logsPerMinute);
+    this.logger = logger;
+    this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final var thread = new Thread(runnable, "BukkitItemBuilder Slow Build Sampler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    final var interval = sampleInterval.toNanos();
+    this.sampler.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * creates a slow build tracer which samples with the half of the threshold and logs at most 6 times in a minute, and
+   * adds it to the installed metrics.
+   *
+   * @param threshold the threshold to install.
+   *
+   * @return installed slow build tracer.
+   */
+  @NotNull
+  public static SlowBuildTracer install(@NotNull final Duration threshold) {
+    final var interval = threshold.dividedBy(2L);
+    final var tracer = new SlowBuildTracer(threshold, interval.isZero() ? threshold : interval, 6,
+      Logger.getLogger(SlowBuildTracer.LOGGER_NAME));
+    Metrics.add(tracer);
+    return tracer;
+  }
+
+  /**
+   * describes the given subject.
+   *
+   * @param subject the subject to describe.
+   *
+   * @return described subject.
+   */
+  @NotNull
+  private static String describe(@Nullable final Object subject) {
+    if (subject == null) {
+      return "unknown";
+    }
+    final String description;
+    if (subject instanceof KeyUtil.Holder<?>) {
+      description = String.valueOf(((KeyUtil.Holder<?>) subject).getHolder());
+    } else if (subject instanceof String) {
+      description = '"' + (String) subject + '"';
+    } else {
+      description = String.valueOf(subject);
+    }
+    if (description.length() <= SlowBuildTracer.MAXIMUM_SUBJECT_LENGTH) {
+      return description;
+    }
+    return description.substring(0, SlowBuildTracer.MAXIMUM_SUBJECT_LENGTH) + "...";
+  }
+
+  /**
+   * formats the given nanos as milliseconds.
+   *
+   * @param nanos the nanos to format.
+   *
+   * @return formatted milliseconds.
+   */
+  @NotNull
+  private static String millis(final long nanos) {
+    final var tenths = nanos / 100_000L;
+    return tenths / 10L + "." + tenths % 10L + " ms";
+  }
+
+  /**
+   * stops the sampler and removes this from the installed metrics.
+   */
+  @Override
+  public void close() {
+    Metrics.remove(this);
+    this.sampler.shutdownNow();
+  }
+
+  /**
+   * obtains the suppressed log count since the last log.
+   *
+   * @return suppressed log count.
+   */
+  public long getSuppressed() {
+    return this.suppressed.get();
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase) {
+    return this.start(phase, null, null);
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase, @Nullable final Object context) {
+    return this.start(phase, context, null);
+  }
+
+  @NotNull
+  @Override
+  public Sample start(@NotNull final Phase phase, @Nullable final Object context, @Nullable final Object subject) {
+    final var stack = this.frames.get();
+    final var root = stack.peekLast();
+    final var frame = new Frame(phase, subject, Thread.currentThread(), System.nanoTime());
+    stack.push(frame);
+    if (root == null) {
+      this.active.put(frame.thread, frame);
+    }
+    return () -> this.end(stack, root == null ? frame : root, frame);
+  }
+
+  /**
+   * ends the given frame.
+   *
+   * @param stack the stack to end.
+   * @param root the root to end.
+   * @param frame the frame to end.
+   */
+  private void end(@NotNull final Deque<Frame> stack, @NotNull final Frame root, @NotNull final Frame frame) {
+    final var elapsed = System.nanoTime() - frame.start;
+    stack.remove(frame);
+    if (root != frame) {
+      root.add(frame.phase, elapsed);
+      return;
+    }
+    this.active.remove(frame.thread, frame);
+    if (elapsed < this.threshold) {
+      return;
+    }
+    if (!this.limiter.tryAcquire(System.nanoTime())) {
+      this.suppressed.incrementAndGet();
+      return;
+    }
+    this.log(frame, elapsed);
+  }
+
+  /**
+   * logs the given slow frame.
+   *
+   * @param frame the frame to log.
+   * @param elapsed the elapsed to log.
+   */
+  private void log(@NotNull final Frame frame, final long elapsed) {
+    final var builder = new StringBuilder()
+      .append("Slow ").append(frame.phase.name())
+      .append(" took ").append(SlowBuildTracer.millis(elapsed))
+      .append(" (threshold ").append(SlowBuildTracer.millis(this.threshold)).append(')');
+    final var suppressedCount = this.suppressed.getAndSet(0L);
+    if (suppressedCount > 0L) {
+      builder.append(", ").append(suppressedCount).append(" slow builds suppressed before");
+    }
+    builder.append("\n  subject: ").append(SlowBuildTracer.describe(frame.subject));
+    builder.append("\n  breakdown:");
+    synchronized (frame) {
+      if (frame.breakdown.isEmpty()) {
+        builder.append(" none");
+      }
+      frame.breakdown.forEach((phase, values) -> builder.append("\n    ").append(phase.name())
+        .append(' ').append(values[0]).append("x ")
+        .append(SlowBuildTracer.millis(values[1])));
+    }
+    final var stack = frame.stack;
+    if (stack == null) {
+      builder.append("\n  sampled stack: none, finished before the sampler reached it");
+    } else {
+      builder.append("\n  sampled stack:");
+      for (final var element : stack) {
+        builder.append("\n    at ").append(element);
+      }
+    }
+    this.logger.log(Level.WARNING, builder.toString());
+  }
+
+  /**
+   * samples the stacks of the running frames that exceed the threshold.
+   */
+  private void sample() {
+    final var now = System.nanoTime();
+    for (final var frame : this.active.values()) {
+      if (frame.stack == null && now - frame.start >= this.threshold) {
+        frame.stack = frame.thread.getStackTrace();
+      }
+    }
+  }
+
+  /**
+   * a class that represents running phases.
+   */
+  private static final class Frame {
+
+    /**
+     * the breakdown of the nested phases, count and total nanos.
+     */
+    @NotNull
+    private final Map<Phase, long[]> breakdown = new EnumMap<>(Phase.class);
+
+    /**
+     * the phase.
+     */
+    @NotNull
+    private final Phase phase;
+
+    /**
+     * the sampled stack.
+     */
+    @Nullable
+    private volatile StackTraceElement[] stack;
+
+    /**
+     * the start.
+     */
+    private final long start;
+
+    /**
+     * the subject.
+     */
+    @Nullable
+    private final Object subject;
+
+    /**
+     * the thread.
+     */
+    @NotNull
+    private final Thread thread;
+
+    /**
+     * ctor.
+     *
+     * @param phase the phase.
+     * @param subject the subject.
+     * @param thread the thread.
+     * @param start the start.
+     */
+    private Frame(@NotNull final Phase phase, @Nullable final Object subject, @NotNull final Thread thread,
+                  final long start) {
+      this.phase = phase;
+      this.subject = subject;
+      this.thread = thread;
+      this.start = start;
+    }
+
+    /**
+     * adds the given nested phase into the breakdown.
+     *
+     * @param phase the phase to add.
+     * @param elapsed the elapsed to add.
+     */
+    private synchronized void add(@NotNull final Phase phase, final long elapsed) {
+      final var values = this.breakdown.computeIfAbsent(phase, key -> new long[2]);
+      values[0]++;
+      values[1] += elapsed;
+    }
+  }
+
+  /**
+   * a class that represents token buckets.
+   */
+  private static final class RateLimiter {
+
+    /**
+     * the capacity.
+     */
+    private final int capacity;
+
+    /**
+     * the last refill.
+     */
+    private long last;
+
+    /**
+     * the nanos that refill a token.
+     */
+    private final long refill;
+
+    /**
+     * the tokens.
+     */
+    private double tokens;
+
+    /**
+     * ctor.
+     *
+     * @param perMinute the tokens per minute.
+     */
+    private RateLimiter(final int perMinute) {
+      this.capacity = perMinute;
+      this.refill = TimeUnit.MINUTES.toNanos(1L) / perMinute;
+      this.tokens = perMinute;
+      this.last = System.nanoTime();
+    }
+
+    /**
+     * tries to take a token.
+     *
+     * @param now the now.
+     *
+     * @return {@code true} if a token is taken.
+     */
+    private synchronized boolean tryAcquire(final long now) {
+      this.tokens = Math.min(this.capacity, this.tokens + (double) (now - this.last) / this.refill);
+      this.last = now;
+      if (this.tokens < 1.0d) {
+        return false;
+      }
+      this.tokens--;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.DyeColor;
+import org.bukkit.block.banner.Pattern;
+import org.bukkit.block.banner.PatternType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains utility methods for (de)serializing banner pattern layers.
+ * <p>
+ * the layers are serialized in order as {@code identifier:color} strings, e.g. {@code bs:red}. in memory each layer is
+ * packed into a short of the pattern type and dye color ordinals, the packed layers key the cache of built pattern
+ * lists. the ordinals depend on the server version, so the packed layers are never serialized.
+ */
+public final class BannerLayers {
+
+  /**
+   * the maximum size of the cache.
+   */
+  public static final int MAXIMUM_SIZE = 512;
+
+  /**
+   * the color bit count of the packed layers.
+   */
+  private static final int COLOR_BITS = 5;
+
+  /**
+   * the dye colors by name.
+   */
+  private static final Map<String, DyeColor> COLORS = new HashMap<>();
+
+  /**
+   * the pattern lists by packed layers.
+   */
+  private static final Map<String, List<Pattern>> PATTERNS = new ConcurrentHashMap<>();
+
+  /**
+   * the separator of the pattern and the color.
+   */
+  private static final char SEPARATOR = ':';
+
+  /**
+   * the pattern types by identifier and name.
+   */
+  private static final Map<String, PatternType> TYPES = new HashMap<>();
+
+  static {
+    for (final var color : DyeColor.values()) {
+      BannerLayers.COLORS.put(color.name().toLowerCase(Locale.ROOT), color);
+    }
+    for (final var type : PatternType.values()) {
+      BannerLayers.TYPES.put(type.name().toLowerCase(Locale.ROOT), type);
+    }
+    for (final var type : PatternType.values()) {
+      BannerLayers.TYPES.put(type.getIdentifier(), type);
+    }
+  }
+
+  /**
+   * ctor.
+   */
+  private BannerLayers() {
+  }
+
+  /**
+   * clears the cache.
+   */
+  public static void clear() {
+    BannerLayers.PATTERNS.clear();
+  }
+
+  /**
+   * obtains the dye color of the given name.
+   *
+   * @param name the name to obtain.
+   *
+   * @return dye color of the name, {@link DyeColor#WHITE} if the name is unknown.
+   */
+  @NotNull
+  public static DyeColor getColor(@Nullable final Object name) {
+    final var color = name == null ? null : BannerLayers.COLORS.get(name.toString().toLowerCase(Locale.ROOT));
+    return color == null ? DyeColor.WHITE : color;
+  }
+
+  /**
+   * obtains the cached pattern list count.
+   *
+   * @return cached pattern list count.
+   */
+  public static int getSize() {
+    return BannerLayers.PATTERNS.size();
+  }
+
+  /**
+   * obtains the pattern type of the given identifier or name.
+   *
+   * @param name the name to obtain.
+   *
+   * @return pattern type of the name, {@link PatternType#BASE} if the name is unknown.
+   */
+  @NotNull
+  public static PatternType getType(@NotNull final String name) {
+    var type = BannerLayers.TYPES.get(name);
+    if (type == null) {
+      type = BannerLayers.TYPES.get(name.toLowerCase(Locale.ROOT));
+    }
+    return type == null ? PatternType.BASE : type;
+  }
+
+  /**
+   * packs the given pattern into a short.
+   *
+   * @param type the type to pack.
+   * @param color the color to pack.
+   *
+   * @return packed layer.
+   */
+  public static short pack(@NotNull final PatternType type, @NotNull final DyeColor color) {
+    return (short) (type.ordinal() << BannerLayers.COLOR_BITS | color.ordinal());
+  }
+
+  /**
+   * parses the given serialized layers.
+   *
+   * @param layers the layers to parse.
+   *
+   * @return parsed patterns.
+   */
+  @NotNull
+  public static List<Pattern> parse(@NotNull final Collection<?> layers) {
+    final var packed = new char[layers.size()];
+    var index = 0;
+    for (final var layer : layers) {
+      final var text = String.valueOf(layer);
+      final var separator = text.indexOf(BannerLayers.SEPARATOR);
+      final var type = BannerLayers.getType(separator == -1 ? text : text.substring(0, separator));
+      final var color = BannerLayers.getColor(separator == -1 ? null : text.substring(separator + 1));
+      packed[index++] = (char) BannerLayers.pack(type, color);
+    }
+    return BannerLayers.unpack(new String(packed));
+  }
+
+  /**
+   * parses the given legacy serialized layers which are pattern names by color names.
+   *
+   * @param layers the layers to parse.
+   *
+   * @return parsed patterns.
+   */
+  @NotNull
+  public static List<Pattern> parseLegacy(@NotNull final Map<String, ?> layers) {
+    final var packed = new char[layers.size()];
+    var index = 0;
+    for (final var entry : layers.entrySet()) {
+      packed[index++] = (char) BannerLayers.pack(BannerLayers.getType(entry.getKey()),
+        BannerLayers.getColor(entry.getValue()));
+    }
+    return BannerLayers.unpack(new String(packed));
+  }
+
+  /**
+   * serializes the given patterns.
+   *
+   * @param patterns the patterns to serialize.
+   *
+   * @return serialized layers.
+   */
+  @NotNull
+  public static List<String> serialize(@NotNull final List<Pattern> patterns) {
+    final var layers = new ArrayList<String>(patterns.size());
+    for (final var pattern : patterns) {
+      layers.add(pattern.getPattern().getIdentifier() + BannerLayers.SEPARATOR +
+        pattern.getColor().name().toLowerCase(Locale.ROOT));
+    }
+    return layers;
+  }
+
+  /**
+   * obtains the pattern list of the given packed layers.
+   *
+   * @param packed the packed layers to obtain.
+   *
+   * @return an unmodifiable pattern list.
+   */
+  @NotNull
+  private static List<Pattern> unpack(@NotNull final String packed) {
+    final var cached = BannerLayers.PATTERNS.get(packed);
+    if (cached != null) {
+      return cached;
+    }
+    final var types = PatternType.values();
+    final var colors = DyeColor.values();
+    final var patterns = new ArrayList<Pattern>(packed.length());
+    for (var index = 0; index < packed.length(); index++) {
+      final var layer = packed.charAt(index);
+      patterns.add(new Pattern(colors[layer & (1 << BannerLayers.COLOR_BITS) - 1],
+        types[layer >>> BannerLayers.COLOR_BITS]));
+    }
+    final var list = Collections.unmodifiableList(patterns);
+    if (BannerLayers.PATTERNS.size() < BannerLayers.MAXIMUM_SIZE) {
+      BannerLayers.PATTERNS.putIfAbsent(packed, list);
+    }
+    return list;
+  }
+}
@@ -0,0 +1,376 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import io.github.portlek.bukkititembuilder.ItemStackBuilder;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents bulk converters to (de)serialize a large amount of item stacks.
+ * <p>
+ * the tasks run on a virtual-thread-per-task executor if the runtime supports virtual threads, otherwise they run on a
+ * fixed platform thread pool. the readers and the writers of the tasks can block on I/O.
+ * <p>
+ * submitting a task blocks the caller while the in-flight task count equals to {@link #getMaxInFlight()}, so a
+ * producer that reads records faster than the converter can handle does not fill the memory.
+ */
+public final class BulkConverter implements AutoCloseable {
+
+  /**
+   * the completed task count.
+   */
+  private final AtomicLong completed = new AtomicLong();
+
+  /**
+   * the executor.
+   */
+  @NotNull
+  private final ExecutorService executor;
+
+  /**
+   * the failed task count.
+   */
+  private final AtomicLong failed = new AtomicLong();
+
+  /**
+   * the maximum in-flight task count.
+   */
+  @Getter
+  private final int maxInFlight;
+
+  /**
+   * the permits.
+   */
+  @NotNull
+  private final Semaphore permits;
+
+  /**
+   * the started at.
+   */
+  private final long startedAt = System.nanoTime();
+
+  /**
+   * the submitted task count.
+   */
+  private final AtomicLong submitted = new AtomicLong();
+
+  /**
+   * the virtual.
+   */
+  @Getter
+  private final boolean virtual;
+
+  /**
+   * ctor.
+   *
+   * @param executor the executor.
+   * @param maxInFlight the max in flight.
+   * @param virtual the virtual.
+   */
+  private BulkConverter(@NotNull final ExecutorService executor, final int maxInFlight, final boolean virtual) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("The maximum in-flight task count must be positive!");
+    }
+    this.executor = executor;
+    this.maxInFlight = maxInFlight;
+    this.permits = new Semaphore(maxInFlight);
+    this.virtual = virtual;
+  }
+
+  /**
+   * creates a new bulk converter.
+   * <p>
+   * uses a platform thread pool which has the processor count threads if virtual threads are not supported.
+   *
+   * @param maxInFlight the max in flight to create.
+   *
+   * @return a newly created bulk converter.
+   */
+  @NotNull
+  public static BulkConverter create(final int maxInFlight) {
+    return BulkConverter.create(maxInFlight, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * creates a new bulk converter.
+   *
+   * @param maxInFlight the max in flight to create.
+   * @param platformThreads the platform thread count to create if virtual threads are not supported.
+   *
+   * @return a newly created bulk converter.
+   */
+  @NotNull
+  public static BulkConverter create(final int maxInFlight, final int platformThreads) {
+    return BulkConverter.createVirtualExecutor()
+      .map(executor -> new BulkConverter(executor, maxInFlight, true))
+      .orElseGet(() -> BulkConverter.createPlatform(maxInFlight, platformThreads));
+  }
+
+  /**
+   * creates a new bulk converter that uses platform threads.
+   *
+   * @param maxInFlight the max in flight to create.
+   * @param platformThreads the platform thread count to create.
+   *
+   * @return a newly created bulk converter.
+   */
+  @NotNull
+  public static BulkConverter createPlatform(final int maxInFlight, final int platformThreads) {
+    return new BulkConverter(Executors.newFixedThreadPool(Math.max(1, Math.min(platformThreads, maxInFlight))),
+      maxInFlight, false);
+  }
+
+  /**
+   * checks if the runtime supports virtual threads.
+   *
+   * @return {@code true} if the runtime supports virtual threads.
+   */
+  public static boolean isVirtualThreadSupported() {
+    final var executor = BulkConverter.createVirtualExecutor();
+    executor.ifPresent(ExecutorService::shutdown);
+    return executor.isPresent();
+  }
+
+  /**
+   * creates a virtual-thread-per-task executor.
+   * <p>
+   * the executor is created reflectively, since the library targets runtimes that have no virtual threads.
+   *
+   * @return a newly created virtual-thread-per-task executor.
+   */
+  @NotNull
+  private static Optional<ExecutorService> createVirtualExecutor() {
+    try {
+      final var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return Optional.of((ExecutorService) method.invoke(null));
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * waits until all the submitted tasks are completed.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting.
+   */
+  public void awaitCompletion() throws InterruptedException {
+    this.permits.acquire(this.maxInFlight);
+    this.permits.release(this.maxInFlight);
+  }
+
+  /**
+   * waits until all the submitted tasks are completed or the given timeout elapses.
+   *
+   * @param timeout the timeout to wait.
+   *
+   * @return {@code true} if all the submitted tasks are completed before the timeout.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting.
+   */
+  public boolean awaitCompletion(@NotNull final Duration timeout) throws InterruptedException {
+    if (!this.permits.tryAcquire(this.maxInFlight, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+      return false;
+    }
+    this.permits.release(this.maxInFlight);
+    return true;
+  }
+
+  /**
+   * waits until all the submitted tasks are completed and shuts the executor down.
+   * <p>
+   * if the current thread is interrupted while waiting, the running tasks are interrupted through
+   * {@link ExecutorService#shutdownNow()} and the interrupt flag of the current thread is restored.
+   */
+  @Override
+  public void close() {
+    try {
+      this.awaitCompletion();
+      this.executor.shutdown();
+      this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (final InterruptedException e) {
+      this.executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * reads a holder, deserializes it, serializes the item stack again and writes the result.
+   *
+   * @param reader the reader to convert.
+   * @param writer the writer to convert.
+   *
+   * @return a future that completes with {@code true} if the holder was converted, {@code false} if the holder is
+   *   incorrect.
+   */
+  @NotNull
+  public CompletableFuture<Boolean> convert(@NotNull final Callable<? extends KeyUtil.Holder<?>> reader,
+                                            @NotNull final Consumer<Map<String, Object>> writer) {
+    return this.submit(() -> {
+      final var itemStack = ItemStackUtil.deserialize(reader.call());
+      if (itemStack.isEmpty()) {
+        return false;
+      }
+      writer.accept(ItemStackUtil.serialize(ItemStackBuilder.from(itemStack.get())));
+      return true;
+    });
+  }
+
+  /**
+   * reads a holder and deserializes it.
+   *
+   * @param reader the reader to deserialize.
+   *
+   * @return a future that completes with deserialized item stack.
+   */
+  @NotNull
+  public CompletableFuture<Optional<ItemStack>> deserialize(
+    @NotNull final Callable<? extends KeyUtil.Holder<?>> reader) {
+    return this.submit(() -> ItemStackUtil.deserialize(reader.call()));
+  }
+
+  /**
+   * obtains the completed task count.
+   *
+   * @return completed task count.
+   */
+  public long getCompleted() {
+    return this.completed.get();
+  }
+
+  /**
+   * obtains the failed task count.
+   *
+   * @return failed task count.
+   */
+  public long getFailed() {
+    return this.failed.get();
+  }
+
+  /**
+   * obtains the in-flight task count.
+   *
+   * @return in-flight task count.
+   */
+  public int getInFlight() {
+    return this.maxInFlight - this.permits.availablePermits();
+  }
+
+  /**
+   * obtains the submitted task count.
+   *
+   * @return submitted task count.
+   */
+  public long getSubmitted() {
+    return this.submitted.get();
+  }
+
+  /**
+   * obtains the completed task count per second since the converter was created.
+   *
+   * @return throughput.
+   */
+  public double getThroughput() {
+    final var elapsed = System.nanoTime() - this.startedAt;
+    if (elapsed <= 0L) {
+      return 0.0d;
+    }
+    return this.completed.get() * (double) TimeUnit.SECONDS.toNanos(1L) / elapsed;
+  }
+
+  /**
+   * serializes the given item stack and writes the result.
+   *
+   * @param itemStack the item stack to serialize.
+   * @param writer the writer to serialize.
+   *
+   * @return a future that completes when the result is written.
+   */
+  @NotNull
+  public CompletableFuture<Void> serialize(@NotNull final ItemStack itemStack,
+                                           @NotNull final Consumer<Map<String, Object>> writer) {
+    final var snapshot = itemStack.clone();
+    return this.submit(() -> {
+      writer.accept(ItemStackUtil.serialize(ItemStackBuilder.from(snapshot)));
+      return null;
+    });
+  }
+
+  /**
+   * submits the given task.
+   * <p>
+   * blocks the caller while there are {@link #getMaxInFlight()} tasks in flight.
+   *
+   * @param task the task to submit.
+   * @param <T> type of the result.
+   *
+   * @return a future that completes with the result of the task.
+   */
+  @NotNull
+  public <T> CompletableFuture<T> submit(@NotNull final Callable<T> task) {
+    try {
+      this.permits.acquire();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
+    }
+    this.submitted.incrementAndGet();
+    final var future = new CompletableFuture<T>();
+    try {
+      this.executor.execute(() -> {
+        final T result;
+        try {
+          result = task.call();
+        } catch (final Throwable e) {
+          this.failed.incrementAndGet();
+          this.permits.release();
+          future.completeExceptionally(e);
+          return;
+        }
+        this.completed.incrementAndGet();
+        this.permits.release();
+        future.complete(result);
+      });
+    } catch (final RuntimeException e) {
+      this.permits.release();
+      this.failed.incrementAndGet();
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+}
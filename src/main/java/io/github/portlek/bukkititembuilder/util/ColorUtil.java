@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import java.util.Optional;
+import org.bukkit.Color;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains utility methods for (de)serializing {@link Color} instances.
+ * <p>
+ * the colors are written in the {@link #getFormat()} format, all the formats are accepted on read:
+ * <pre>
+ * legacy: 'red, green, blue'
+ * hex: '#rrggbb'
+ * packed: integer (0xrrggbb)
+ * </pre>
+ */
+public final class ColorUtil {
+
+  /**
+   * the hex digits.
+   */
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * the format.
+   */
+  @NotNull
+  private static volatile Format format = Format.LEGACY;
+
+  /**
+   * ctor.
+   */
+  private ColorUtil() {
+  }
+
+  /**
+   * adds the given color into the holder in the current format.
+   *
+   * @param holder the holder to add.
+   * @param key the key to add.
+   * @param color the color to add.
+   */
+  public static void add(@NotNull final KeyUtil.Holder<?> holder, @NotNull final String key,
+                         @NotNull final Color color) {
+    final var serialized = ColorUtil.serialize(color);
+    if (serialized instanceof Integer) {
+      holder.add(key, (Integer) serialized, Integer.class);
+    } else {
+      holder.add(key, (String) serialized, String.class);
+    }
+  }
+
+  /**
+   * obtains the format.
+   *
+   * @return format.
+   */
+  @NotNull
+  public static Format getFormat() {
+    return ColorUtil.format;
+  }
+
+  /**
+   * sets the format.
+   *
+   * @param format the format to set.
+   */
+  public static void setFormat(@NotNull final Format format) {
+    ColorUtil.format = format;
+  }
+
+  /**
+   * parses the given object into a color.
+   *
+   * @param object the object to parse.
+   *
+   * @return parsed color.
+   */
+  @NotNull
+  public static Optional<Color> parse(@Nullable final Object object) {
+    final var rgb = ColorUtil.parseRgb(object);
+    return rgb == -1 ? Optional.empty() : Optional.of(Color.fromRGB(rgb));
+  }
+
+  /**
+   * parses the given object into a packed rgb color.
+   *
+   * @param object the object to parse.
+   *
+   * @return packed rgb color, or {@code -1} if the object is not a color.
+   */
+  public static int parseRgb(@Nullable final Object object) {
+    if (object instanceof Number) {
+      return ((Number) object).intValue() & 0xFFFFFF;
+    }
+    if (!(object instanceof String)) {
+      return -1;
+    }
+    final var text = ((String) object).trim();
+    if (!text.isEmpty() && text.charAt(0) == '#') {
+      return ColorUtil.parseHex(text);
+    }
+    return ColorUtil.parseLegacy(text);
+  }
+
+  /**
+   * serializes the given color in the current format.
+   *
+   * @param color the color to serialize.
+   *
+   * @return serialized color, a {@link String} or an {@link Integer}.
+   */
+  @NotNull
+  public static Object serialize(@NotNull final Color color) {
+    return ColorUtil.serialize(color, ColorUtil.format);
+  }
+
+  /**
+   * serializes the given color in the given format.
+   *
+   * @param color the color to serialize.
+   * @param format the format to serialize.
+   *
+   * @return serialized color, a {@link String} or an {@link Integer}.
+   */
+  @NotNull
+  public static Object serialize(@NotNull final Color color, @NotNull final Format format) {
+    switch (format) {
+      case HEX:
+        final var rgb = color.asRGB();
+        final var chars = new char[7];
+        chars[0] = '#';
+        for (var index = 6; index > 0; index--) {
+          chars[index] = ColorUtil.HEX_DIGITS[(rgb >> ((6 - index) << 2)) & 0xF];
+        }
+        return new String(chars);
+      case PACKED:
+        return color.asRGB();
+      default:
+        return color.getRed() + ", " + color.getGreen() + ", " + color.getBlue();
+    }
+  }
+
+  /**
+   * parses the given hex text.
+   *
+   * @param text the text to parse.
+   *
+   * @return packed rgb color, or {@code -1} if the text is not a hex color.
+   */
+  private static int parseHex(@NotNull final String text) {
+    if (text.length() != 7) {
+      return -1;
+    }
+    var rgb = 0;
+    for (var index = 1; index < 7; index++) {
+      final var digit = Character.digit(text.charAt(index), 16);
+      if (digit == -1) {
+        return -1;
+      }
+      rgb = rgb << 4 | digit;
+    }
+    return rgb;
+  }
+
+  /**
+   * parses the given legacy text.
+   *
+   * @param text the text to parse.
+   *
+   * @return packed rgb color, or {@code -1} if the text is not a legacy color.
+   */
+  private static int parseLegacy(@NotNull final String text) {
+    var rgb = 0;
+    var component = -1;
+    var count = 0;
+    final var length = text.length();
+    for (var index = 0; index <= length; index++) {
+      final var character = index == length ? ',' : text.charAt(index);
+      if (character == ',') {
+        if (component == -1 || count == 3) {
+          return -1;
+        }
+        rgb = rgb << 8 | Math.min(component, 255);
+        component = -1;
+        count++;
+      } else if (character >= '0' && character <= '9') {
+        component = (component == -1 ? 0 : component * 10) + character - '0';
+        if (component > 255) {
+          component = 255;
+        }
+      } else if (character != ' ') {
+        return -1;
+      }
+    }
+    return count == 3 ? rgb : -1;
+  }
+
+  /**
+   * an enum class that contains color formats.
+   */
+  public enum Format {
+    /**
+     * the hex format, {@code #rrggbb}.
+     */
+    HEX,
+    /**
+     * the legacy format, {@code red, green, blue}.
+     */
+    LEGACY,
+    /**
+     * the packed rgb integer format.
+     */
+    PACKED
+  }
+}
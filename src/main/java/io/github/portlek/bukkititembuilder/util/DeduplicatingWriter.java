@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import io.github.portlek.bukkititembuilder.ItemStackBuilder;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents writers which store each distinct item stack once.
+ * <p>
+ * every written item stack is referenced by the {@link HashUtil#hash(Map)} of its serialized form, the item stacks
+ * that are equal to an already written one are not serialized again.
+ * <p>
+ * serialization:
+ * <pre>
+ * items: (main section)
+ *   hash: (item section)
+ *     material: DIAMOND
+ * </pre>
+ */
+public final class DeduplicatingWriter {
+
+  /**
+   * the hashes by item stack.
+   */
+  private final Map<ItemStack, String> hashes = new HashMap<>();
+
+  /**
+   * the serialized items by hash.
+   */
+  private final Map<String, Map<String, Object>> items = new LinkedHashMap<>();
+
+  /**
+   * reads the items section of the given holder.
+   *
+   * @param holder the holder to read.
+   *
+   * @return deserialized item stacks by hash.
+   */
+  @NotNull
+  public static Map<String, ItemStack> read(@NotNull final KeyUtil.Holder<?> holder) {
+    final var result = new HashMap<String, ItemStack>();
+    holder.getAsMap(KeyUtil.ITEMS_KEY, String.class, Object.class).ifPresent(items ->
+      items.forEach((hash, value) -> {
+        if (value instanceof Map<?, ?>) {
+          //noinspection unchecked
+          ItemStackUtil.deserialize(KeyUtil.Holder.map((Map<String, Object>) value))
+            .ifPresent(itemStack -> result.put(hash, itemStack));
+        }
+      }));
+    return result;
+  }
+
+  /**
+   * obtains the serialized items.
+   *
+   * @return serialized items by hash.
+   */
+  @NotNull
+  public Map<String, Map<String, Object>> getItems() {
+    return Collections.unmodifiableMap(this.items);
+  }
+
+  /**
+   * writes the given item stack.
+   *
+   * @param itemStack the item stack to write.
+   *
+   * @return hash of the item stack to reference it.
+   */
+  @NotNull
+  public String write(@NotNull final ItemStack itemStack) {
+    final var cached = this.hashes.get(itemStack);
+    if (cached != null) {
+      return cached;
+    }
+    final var key = itemStack.clone();
+    final var map = new HashMap<String, Object>();
+    ItemStackUtil.serialize(ItemStackBuilder.from(itemStack.clone()), KeyUtil.Holder.map(map));
+    final var hash = HashUtil.hash(map);
+    this.items.putIfAbsent(hash, map);
+    this.hashes.put(key, hash);
+    return hash;
+  }
+
+  /**
+   * writes the stored items into the given holder.
+   *
+   * @param holder the holder to write.
+   */
+  public void writeTo(@NotNull final KeyUtil.Holder<?> holder) {
+    holder.addAsMap(KeyUtil.ITEMS_KEY, new LinkedHashMap<String, Object>(this.items), String.class, Object.class);
+  }
+}
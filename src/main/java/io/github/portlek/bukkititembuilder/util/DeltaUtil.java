@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that contains utility methods to create and apply deltas of serialized item stacks.
+ * <p>
+ * a delta contains only the keys whose values differ from the base, sections are compared recursively and the keys
+ * that exist in the base but not in the current one are listed under {@link KeyUtil#REMOVED_KEY}. the values are
+ * compared like {@link HashUtil} does, so {@code 10} and {@code 10L} are equal and the order of the root flags does
+ * not matter. the removed key is reserved, a section
+ * that contains it cannot be diffed.
+ * <p>
+ * serialization:
+ * <pre>
+ * amount: 32
+ *
+ * removed: (string list)
+ *   - 'lore'
+ * </pre>
+ */
+public final class DeltaUtil {
+
+  /**
+   * ctor.
+   */
+  private DeltaUtil() {
+  }
+
+  /**
+   * applies the given delta to the base.
+   *
+   * @param base the base to apply.
+   * @param delta the delta to apply.
+   *
+   * @return a newly created map that contains the base with the delta.
+   */
+  @NotNull
+  public static Map<String, Object> apply(@NotNull final Map<String, Object> base,
+                                          @NotNull final Map<String, Object> delta) {
+    final var result = new LinkedHashMap<String, Object>();
+    DeltaUtil.apply(base, delta, result);
+    return result;
+  }
+
+  /**
+   * creates a delta that turns the given base into the given current.
+   *
+   * @param base the base to create.
+   * @param current the current to create.
+   *
+   * @return a newly created delta.
+   *
+   * @throws IllegalArgumentException if a section contains {@link KeyUtil#REMOVED_KEY}.
+   */
+  @NotNull
+  public static Map<String, Object> diff(@NotNull final Map<String, Object> base,
+                                         @NotNull final Map<String, Object> current) {
+    final var result = new LinkedHashMap<String, Object>();
+    DeltaUtil.diff(base, current, result, true);
+    return result;
+  }
+
+  /**
+   * applies the given delta to the base into the result.
+   *
+   * @param base the base to apply.
+   * @param delta the delta to apply.
+   * @param result the result to apply.
+   * @param <K> type of the keys.
+   */
+  private static <K> void apply(@NotNull final Map<K, Object> base, @NotNull final Map<?, ?> delta,
+                                @NotNull final Map<K, Object> result) {
+    result.putAll(base);
+    final var removed = delta.get(KeyUtil.REMOVED_KEY);
+    if (removed instanceof Collection<?>) {
+      ((Collection<?>) removed).forEach(key -> DeltaUtil.remove(result, key));
+    }
+    delta.forEach((key, value) -> {
+      if (KeyUtil.REMOVED_KEY.equals(key)) {
+        return;
+      }
+      final var resultKey = DeltaUtil.findKey(result, key);
+      final var baseValue = result.get(resultKey);
+      if (baseValue instanceof Map<?, ?> && value instanceof Map<?, ?>) {
+        final var section = new LinkedHashMap<Object, Object>();
+        //noinspection unchecked
+        DeltaUtil.apply((Map<Object, Object>) baseValue, (Map<?, ?>) value, section);
+        result.put(resultKey, section);
+      } else {
+        result.put(resultKey, value);
+      }
+    });
+  }
+
+  /**
+   * creates a delta from the base to the current into the result.
+   *
+   * @param base the base to create.
+   * @param current the current to create.
+   * @param result the result to create.
+   * @param root the root to create.
+   * @param <K> type of the keys.
+   */
+  private static <K> void diff(@NotNull final Map<K, ?> base, @NotNull final Map<K, ?> current,
+                               @NotNull final Map<K, Object> result, final boolean root) {
+    DeltaUtil.checkReserved(base);
+    DeltaUtil.checkReserved(current);
+    current.forEach((key, value) -> {
+      final var baseValue = base.get(key);
+      if (root ? HashUtil.isEquivalentRoot(key, baseValue, value) : HashUtil.isEquivalent(baseValue, value)) {
+        return;
+      }
+      if (baseValue instanceof Map<?, ?> && value instanceof Map<?, ?>) {
+        final var section = new LinkedHashMap<Object, Object>();
+        //noinspection unchecked
+        DeltaUtil.diff((Map<Object, ?>) baseValue, (Map<Object, ?>) value, section, false);
+        if (!section.isEmpty()) {
+          result.put(key, section);
+        }
+      } else {
+        result.put(key, value);
+      }
+    });
+    final var removed = new ArrayList<String>();
+    base.keySet().stream()
+      .filter(key -> !current.containsKey(key))
+      .map(String::valueOf)
+      .forEach(removed::add);
+    if (!removed.isEmpty()) {
+      //noinspection unchecked
+      result.put((K) KeyUtil.REMOVED_KEY, removed);
+    }
+  }
+
+  /**
+   * checks if the given section does not use {@link KeyUtil#REMOVED_KEY} as a key.
+   *
+   * @param section the section to check.
+   *
+   * @throws IllegalArgumentException if the section contains the reserved key.
+   */
+  private static void checkReserved(@NotNull final Map<?, ?> section) {
+    if (section.containsKey(KeyUtil.REMOVED_KEY)) {
+      throw new IllegalArgumentException(String.format("The key %s is reserved for the deltas!",
+        KeyUtil.REMOVED_KEY));
+    }
+  }
+
+  /**
+   * finds the key in the given map that matches the given key.
+   * <p>
+   * the keys are compared by their string value, since a section which read from the disk may contain string keys
+   * instead of the numeric ones.
+   *
+   * @param map the map to find.
+   * @param key the key to find.
+   * @param <K> type of the keys.
+   *
+   * @return found key.
+   */
+  @NotNull
+  private static <K> K findKey(@NotNull final Map<K, ?> map, @NotNull final Object key) {
+    if (map.containsKey(key)) {
+      //noinspection unchecked
+      return (K) key;
+    }
+    final var keyString = String.valueOf(key);
+    for (final var mapKey : map.keySet()) {
+      if (String.valueOf(mapKey).equals(keyString)) {
+        return mapKey;
+      }
+    }
+    //noinspection unchecked
+    return (K) key;
+  }
+
+  /**
+   * removes the given key from the map.
+   *
+   * @param map the map to remove.
+   * @param key the key to remove.
+   */
+  private static void remove(@NotNull final Map<?, ?> map, @NotNull final Object key) {
+    map.remove(DeltaUtil.findKey(map, key));
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.EqualsAndHashCode;
+import org.bukkit.Color;
+import org.bukkit.FireworkEffect;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that interns {@link FireworkEffect} instances.
+ * <p>
+ * the effects are keyed by their canonical spec that consists of the type, flicker, trail and the packed rgb colors,
+ * so identical effects are built once and shared. the colors keep their order and the duplicate ones are dropped.
+ */
+public final class FireworkEffectPool {
+
+  /**
+   * the maximum size of the pool.
+   */
+  public static final int MAXIMUM_SIZE = 1024;
+
+  /**
+   * the effects by spec.
+   */
+  private static final Map<Spec, FireworkEffect> EFFECTS = new ConcurrentHashMap<>();
+
+  /**
+   * ctor.
+   */
+  private FireworkEffectPool() {
+  }
+
+  /**
+   * clears the pool.
+   */
+  public static void clear() {
+    FireworkEffectPool.EFFECTS.clear();
+  }
+
+  /**
+   * obtains the interned effect count.
+   *
+   * @return interned effect count.
+   */
+  public static int getSize() {
+    return FireworkEffectPool.EFFECTS.size();
+  }
+
+  /**
+   * obtains the interned effect of the given spec.
+   *
+   * @param type the type to obtain.
+   * @param flicker the flicker to obtain.
+   * @param trail the trail to obtain.
+   * @param colors the colors to obtain.
+   * @param fadeColors the fade colors to obtain.
+   *
+   * @return interned effect.
+   */
+  @NotNull
+  public static FireworkEffect intern(@NotNull final FireworkEffect.Type type, final boolean flicker,
+                                      final boolean trail, @NotNull final Collection<?> colors,
+                                      @NotNull final Collection<?> fadeColors) {
+    return FireworkEffectPool.intern(type, flicker, trail, FireworkEffectPool.pack(colors),
+      FireworkEffectPool.pack(fadeColors));
+  }
+
+  /**
+   * obtains the interned effect of the given spec.
+   *
+   * @param type the type to obtain.
+   * @param flicker the flicker to obtain.
+   * @param trail the trail to obtain.
+   * @param colors the packed rgb colors to obtain.
+   * @param fadeColors the packed rgb fade colors to obtain.
+   *
+   * @return interned effect.
+   */
+  @NotNull
+  public static FireworkEffect intern(@NotNull final FireworkEffect.Type type, final boolean flicker,
+                                      final boolean trail, final int @NotNull [] colors,
+                                      final int @NotNull [] fadeColors) {
+    final var spec = new Spec(FireworkEffectPool.distinct(colors), FireworkEffectPool.distinct(fadeColors), flicker,
+      trail, type);
+    final var effect = FireworkEffectPool.EFFECTS.get(spec);
+    if (effect != null) {
+      return effect;
+    }
+    final var built = spec.build();
+    if (FireworkEffectPool.EFFECTS.size() >= FireworkEffectPool.MAXIMUM_SIZE) {
+      return built;
+    }
+    final var previous = FireworkEffectPool.EFFECTS.putIfAbsent(spec, built);
+    return previous == null ? built : previous;
+  }
+
+  /**
+   * parses the given serialized effect section into an interned effect.
+   * <p>
+   * the unknown types fall back to {@link FireworkEffect.Type#STAR}, it does not touch the Bukkit API so it can run on
+   * any thread.
+   *
+   * @param section the section to parse.
+   *
+   * @return interned effect.
+   */
+  @NotNull
+  public static FireworkEffect parse(@NotNull final Map<?, ?> section) {
+    final var flicker = Optional.ofNullable(section.get(KeyUtil.FLICKER_KEY))
+      .filter(Boolean.class::isInstance)
+      .map(Boolean.class::cast)
+      .orElse(false);
+    final var trail = Optional.ofNullable(section.get(KeyUtil.TRAIL_KEY))
+      .filter(Boolean.class::isInstance)
+      .map(Boolean.class::cast)
+      .orElse(false);
+    final var type = Optional.ofNullable(section.get(KeyUtil.TYPE_KEY))
+      .filter(String.class::isInstance)
+      .map(String.class::cast)
+      .map(s -> s.toUpperCase(Locale.ROOT));
+    FireworkEffect.Type effectType;
+    try {
+      effectType = type.map(FireworkEffect.Type::valueOf)
+        .orElse(FireworkEffect.Type.STAR);
+    } catch (final Exception e) {
+      effectType = FireworkEffect.Type.STAR;
+    }
+    final var colorSection = Optional.ofNullable(section.get(KeyUtil.COLORS_KEY))
+      .filter(Map.class::isInstance)
+      .map(object -> (Map<?, ?>) object);
+    final var baseColors = colorSection
+      .map(colors -> colors.get(KeyUtil.BASE_KEY))
+      .filter(Collection.class::isInstance)
+      .map(object -> (Collection<?>) object)
+      .orElse(Collections.emptyList());
+    final var fadeColors = colorSection
+      .map(colors -> colors.get(KeyUtil.FADE_KEY))
+      .filter(Collection.class::isInstance)
+      .map(object -> (Collection<?>) object)
+      .orElse(Collections.emptyList());
+    return FireworkEffectPool.intern(effectType, flicker, trail, baseColors, fadeColors);
+  }
+
+  /**
+   * drops the duplicate colors of the given array.
+   *
+   * @param colors the colors to drop.
+   *
+   * @return distinct colors in their first occurrence order.
+   */
+  private static int @NotNull [] distinct(final int @NotNull [] colors) {
+    final var distinct = new int[colors.length];
+    var size = 0;
+    outer:
+    for (final var color : colors) {
+      for (var index = 0; index < size; index++) {
+        if (distinct[index] == color) {
+          continue outer;
+        }
+      }
+      distinct[size++] = color;
+    }
+    return size == colors.length ? distinct : Arrays.copyOf(distinct, size);
+  }
+
+  /**
+   * packs the given serialized colors into rgb integers.
+   *
+   * @param colors the colors to pack.
+   *
+   * @return packed colors.
+   *
+   * @see ColorUtil#parseRgb(Object)
+   */
+  private static int @NotNull [] pack(@NotNull final Collection<?> colors) {
+    final var packed = new int[colors.size()];
+    var size = 0;
+    for (final var color : colors) {
+      final var rgb = ColorUtil.parseRgb(color);
+      if (rgb != -1) {
+        packed[size++] = rgb;
+      }
+    }
+    return size == packed.length ? packed : Arrays.copyOf(packed, size);
+  }
+
+  /**
+   * a class that represents canonical specs of firework effects.
+   */
+  @EqualsAndHashCode
+  private static final class Spec {
+
+    /**
+     * the colors.
+     */
+    private final int @NotNull [] colors;
+
+    /**
+     * the fade colors.
+     */
+    private final int @NotNull [] fadeColors;
+
+    /**
+     * the flicker.
+     */
+    private final boolean flicker;
+
+    /**
+     * the trail.
+     */
+    private final boolean trail;
+
+    /**
+     * the type.
+     */
+    @NotNull
+    private final FireworkEffect.Type type;
+
+    /**
+     * ctor.
+     *
+     * @param colors the colors.
+     * @param fadeColors the fade colors.
+     * @param flicker the flicker.
+     * @param trail the trail.
+     * @param type the type.
+     */
+    private Spec(final int @NotNull [] colors, final int @NotNull [] fadeColors, final boolean flicker,
+                 final boolean trail, @NotNull final FireworkEffect.Type type) {
+      this.colors = colors;
+      this.fadeColors = fadeColors;
+      this.flicker = flicker;
+      this.trail = trail;
+      this.type = type;
+    }
+
+    /**
+     * builds the effect of the spec.
+     *
+     * @return built effect.
+     */
+    @NotNull
+    private FireworkEffect build() {
+      final var builder = FireworkEffect.builder()
+        .with(this.type)
+        .flicker(this.flicker)
+        .trail(this.trail);
+      for (final var color : this.colors) {
+        builder.withColor(Color.fromRGB(color));
+      }
+      for (final var color : this.fadeColors) {
+        builder.withFade(Color.fromRGB(color));
+      }
+      return builder.build();
+    }
+  }
+}
@@ -0,0 +1,387 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import io.github.portlek.bukkititembuilder.Builder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that contains utility methods to hash serialized item stacks.
+ * <p>
+ * the hash is canonical, map entries are visited in key order, so two holders that contain the same content produce
+ * the same hash regardless of their insertion order. integral numbers are compared by value so {@code 10} and
+ * {@code 10L} hash equally, which keeps hashes stable after a reload from the disk.
+ */
+public final class HashUtil {
+
+  /**
+   * the boolean tag.
+   */
+  private static final byte BOOLEAN = 3;
+
+  /**
+   * the decimal tag.
+   */
+  private static final byte DECIMAL = 4;
+
+  /**
+   * the hex characters.
+   */
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * the length of the hash in bytes.
+   */
+  private static final int LENGTH = 16;
+
+  /**
+   * the list tag.
+   */
+  private static final byte LIST = 5;
+
+  /**
+   * the map tag.
+   */
+  private static final byte MAP = 6;
+
+  /**
+   * the null tag.
+   */
+  private static final byte NULL = 0;
+
+  /**
+   * the number tag.
+   */
+  private static final byte NUMBER = 2;
+
+  /**
+   * the set tag.
+   */
+  private static final byte SET = 7;
+
+  /**
+   * the string tag.
+   */
+  private static final byte STRING = 1;
+
+  /**
+   * ctor.
+   */
+  private HashUtil() {
+  }
+
+  /**
+   * hashes the given builder's serialized form.
+   *
+   * @param builder the builder to hash.
+   *
+   * @return hash of the builder.
+   */
+  @NotNull
+  public static String hash(@NotNull final Builder<?, ?> builder) {
+    return HashUtil.hash(ItemStackUtil.serialize(builder));
+  }
+
+  /**
+   * hashes the given serialized item stack map.
+   *
+   * @param map the map to hash.
+   *
+   * @return hash of the map.
+   */
+  @NotNull
+  public static String hash(@NotNull final Map<?, ?> map) {
+    final var digest = HashUtil.createDigest();
+    HashUtil.update(digest, map, true);
+    final var bytes = digest.digest();
+    final var chars = new char[HashUtil.LENGTH * 2];
+    for (var index = 0; index < HashUtil.LENGTH; index++) {
+      final var value = bytes[index] & 0xFF;
+      chars[index * 2] = HashUtil.HEX[value >>> 4];
+      chars[index * 2 + 1] = HashUtil.HEX[value & 0x0F];
+    }
+    return new String(chars);
+  }
+
+  /**
+   * checks if the given serialized values are equivalent.
+   * <p>
+   * numbers are compared after {@link #normalize(Number)}, map keys by their string value and sets without their
+   * order, so the values that produce the same hash are equivalent.
+   *
+   * @param first the first to check.
+   * @param second the second to check.
+   *
+   * @return {@code true} if the values are equivalent.
+   */
+  static boolean isEquivalent(@Nullable final Object first, @Nullable final Object second) {
+    if (first == second) {
+      return true;
+    }
+    if (first instanceof Number && second instanceof Number) {
+      return HashUtil.normalize((Number) first).equals(HashUtil.normalize((Number) second));
+    }
+    if (first instanceof Map<?, ?> && second instanceof Map<?, ?>) {
+      final var firstMap = (Map<?, ?>) first;
+      final var secondMap = (Map<?, ?>) second;
+      if (firstMap.size() != secondMap.size()) {
+        return false;
+      }
+      final var values = new HashMap<String, Object>(secondMap.size());
+      secondMap.forEach((key, value) -> values.put(String.valueOf(key), value));
+      for (final var entry : firstMap.entrySet()) {
+        final var key = String.valueOf(entry.getKey());
+        if (!values.containsKey(key) || !HashUtil.isEquivalent(entry.getValue(), values.get(key))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (first instanceof Set<?> && second instanceof Set<?>) {
+      return HashUtil.isEquivalentUnordered((Collection<?>) first, (Collection<?>) second);
+    }
+    if (first instanceof List<?> && second instanceof List<?>) {
+      final var firstList = (List<?>) first;
+      final var secondList = (List<?>) second;
+      if (firstList.size() != secondList.size()) {
+        return false;
+      }
+      for (var index = 0; index < firstList.size(); index++) {
+        if (!HashUtil.isEquivalent(firstList.get(index), secondList.get(index))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return Objects.equals(first, second);
+  }
+
+  /**
+   * checks if the given serialized values of the root section's key are equivalent.
+   * <p>
+   * the flags list of the root section is compared as a set, like {@link #hash(Map)} does.
+   *
+   * @param key the key to check.
+   * @param first the first to check.
+   * @param second the second to check.
+   *
+   * @return {@code true} if the values are equivalent.
+   */
+  static boolean isEquivalentRoot(@NotNull final Object key, @Nullable final Object first,
+                                  @Nullable final Object second) {
+    if (KeyUtil.FLAG_KEY.equals(String.valueOf(key)) &&
+      first instanceof Collection<?> && second instanceof Collection<?>) {
+      return HashUtil.isEquivalentUnordered((Collection<?>) first, (Collection<?>) second);
+    }
+    return HashUtil.isEquivalent(first, second);
+  }
+
+  /**
+   * creates a new message digest.
+   *
+   * @return a newly created message digest.
+   */
+  @NotNull
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported by the runtime!", e);
+    }
+  }
+
+  /**
+   * checks if the given collections contain equivalent elements without caring about the element order.
+   *
+   * @param first the first to check.
+   * @param second the second to check.
+   *
+   * @return {@code true} if the collections are equivalent.
+   */
+  private static boolean isEquivalentUnordered(@NotNull final Collection<?> first,
+                                               @NotNull final Collection<?> second) {
+    if (first.size() != second.size()) {
+      return false;
+    }
+    final var remaining = new ArrayList<Object>(second);
+    for (final var element : first) {
+      final var iterator = remaining.iterator();
+      var found = false;
+      while (iterator.hasNext()) {
+        if (HashUtil.isEquivalent(element, iterator.next())) {
+          iterator.remove();
+          found = true;
+          break;
+        }
+      }
+      if (!found) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * normalizes the given number, decimals become {@link Double} and integral numbers become {@link Long}.
+   *
+   * @param number the number to normalize.
+   *
+   * @return normalized number.
+   */
+  @NotNull
+  private static Number normalize(@NotNull final Number number) {
+    if (number instanceof Float || number instanceof Double) {
+      return number.doubleValue();
+    }
+    return number.longValue();
+  }
+
+  /**
+   * updates the digest with the given integer.
+   *
+   * @param digest the digest to update.
+   * @param value the value to update.
+   */
+  private static void update(@NotNull final MessageDigest digest, final int value) {
+    digest.update((byte) (value >>> 24));
+    digest.update((byte) (value >>> 16));
+    digest.update((byte) (value >>> 8));
+    digest.update((byte) value);
+  }
+
+  /**
+   * updates the digest with the given long.
+   *
+   * @param digest the digest to update.
+   * @param value the value to update.
+   */
+  private static void update(@NotNull final MessageDigest digest, final long value) {
+    HashUtil.update(digest, (int) (value >>> 32));
+    HashUtil.update(digest, (int) value);
+  }
+
+  /**
+   * updates the digest with the given string.
+   *
+   * @param digest the digest to update.
+   * @param value the value to update.
+   */
+  private static void update(@NotNull final MessageDigest digest, @NotNull final String value) {
+    final var bytes = value.getBytes(StandardCharsets.UTF_8);
+    HashUtil.update(digest, bytes.length);
+    digest.update(bytes);
+  }
+
+  /**
+   * updates the digest with the given object.
+   * <p>
+   * the flags list of the root section is hashed as a set since the item flags have no order.
+   *
+   * @param digest the digest to update.
+   * @param object the object to update.
+   * @param root the root to update.
+   */
+  private static void update(@NotNull final MessageDigest digest, @Nullable final Object object, final boolean root) {
+    if (object == null) {
+      digest.update(HashUtil.NULL);
+    } else if (object instanceof String) {
+      digest.update(HashUtil.STRING);
+      HashUtil.update(digest, (String) object);
+    } else if (object instanceof Boolean) {
+      digest.update(HashUtil.BOOLEAN);
+      digest.update((byte) ((Boolean) object ? 1 : 0));
+    } else if (object instanceof Number) {
+      final var number = HashUtil.normalize((Number) object);
+      if (number instanceof Double) {
+        digest.update(HashUtil.DECIMAL);
+        HashUtil.update(digest, Double.doubleToLongBits(number.doubleValue()));
+      } else {
+        digest.update(HashUtil.NUMBER);
+        HashUtil.update(digest, number.longValue());
+      }
+    } else if (object instanceof Map<?, ?>) {
+      final var map = (Map<?, ?>) object;
+      final var entries = new ArrayList<Map.Entry<String, Object>>(map.size());
+      map.forEach((key, value) -> entries.add(new AbstractMap.SimpleImmutableEntry<String, Object>(String.valueOf(key), value)));
+      entries.sort(Map.Entry.comparingByKey());
+      digest.update(HashUtil.MAP);
+      HashUtil.update(digest, entries.size());
+      for (final var entry : entries) {
+        HashUtil.update(digest, entry.getKey());
+        final var value = entry.getValue();
+        if (root && KeyUtil.FLAG_KEY.equals(entry.getKey()) && value instanceof Collection<?>) {
+          HashUtil.updateUnordered(digest, (Collection<?>) value);
+        } else {
+          HashUtil.update(digest, value, false);
+        }
+      }
+    } else if (object instanceof Set<?>) {
+      HashUtil.updateUnordered(digest, (Collection<?>) object);
+    } else if (object instanceof Collection<?>) {
+      final var collection = (Collection<?>) object;
+      digest.update(HashUtil.LIST);
+      HashUtil.update(digest, collection.size());
+      for (final var element : collection) {
+        HashUtil.update(digest, element, false);
+      }
+    } else {
+      digest.update(HashUtil.STRING);
+      HashUtil.update(digest, String.valueOf(object));
+    }
+  }
+
+  /**
+   * updates the digest with the given collection without caring about the element order.
+   *
+   * @param digest the digest to update.
+   * @param collection the collection to update.
+   */
+  private static void updateUnordered(@NotNull final MessageDigest digest, @NotNull final Collection<?> collection) {
+    final List<byte[]> hashes = new ArrayList<>(collection.size());
+    for (final var element : collection) {
+      final var elementDigest = HashUtil.createDigest();
+      HashUtil.update(elementDigest, element, false);
+      hashes.add(elementDigest.digest());
+    }
+    hashes.sort(Arrays::compare);
+    digest.update(HashUtil.SET);
+    HashUtil.update(digest, hashes.size());
+    hashes.forEach(digest::update);
+  }
+}
@@ -38,10 +38,24 @@ import io.github.portlek.bukkititembuilder.MapItemBuilder;
 import io.github.portlek.bukkititembuilder.PotionItemBuilder;
 import io.github.portlek.bukkititembuilder.SkullItemBuilder;
 import io.github.portlek.bukkititembuilder.SpawnEggItemBuilder;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * a class that contains utility methods for {@link ItemStack}.
@@ -63,6 +77,316 @@ public final class ItemStackUtil {
    */
   @NotNull
   public static Optional<ItemStack> deserialize(@NotNull final KeyUtil.Holder<?> holder) {
+    try (final var ignored = Metrics.start(Phase.DESERIALIZE, null, holder)) {
+      return ItemStackUtil.deserializeItemStack(holder);
+    }
+  }
+
+  /**
+   * deserializes the given delta on top of the base into item stack.
+   *
+   * @param base the base to deserialize.
+   * @param delta the delta to deserialize.
+   *
+   * @return deserialized item stack.
+   *
+   * @see DeltaUtil#apply(Map, Map)
+   */
+  @NotNull
+  public static Optional<ItemStack> deserialize(@NotNull final Map<String, Object> base,
+                                                @NotNull final Map<String, Object> delta) {
+    return ItemStackUtil.deserialize(KeyUtil.Holder.map(DeltaUtil.apply(base, delta)));
+  }
+
+  /**
+   * deserializes the given delta on top of the base builder into item stack.
+   *
+   * @param base the base to deserialize.
+   * @param delta the delta to deserialize.
+   *
+   * @return deserialized item stack.
+   */
+  @NotNull
+  public static Optional<ItemStack> deserialize(@NotNull final Builder<?, ?> base,
+                                                @NotNull final Map<String, Object> delta) {
+    return ItemStackUtil.deserialize(ItemStackUtil.serialize(base), delta);
+  }
+
+  /**
+   * deserializes the given inventory holder into item stack array.
+   *
+   * @param holder the holder to deserialize.
+   * @param size the size to deserialize.
+   *
+   * @return deserialized item stacks, empty slots are {@code null}.
+   *
+   * @see #serialize(ItemStack[], Executor)
+   */
+  @Nullable
+  public static ItemStack @NotNull [] deserialize(@NotNull final KeyUtil.Holder<?> holder, final int size) {
+    final var contents = new ItemStack[size];
+    for (var slot = 0; slot < size; slot++) {
+      final var index = slot;
+      holder.getAsMap(String.valueOf(slot), String.class, Object.class)
+        .map(KeyUtil.Holder::map)
+        .flatMap(ItemStackUtil::deserialize)
+        .ifPresent(itemStack -> contents[index] = itemStack);
+    }
+    return contents;
+  }
+
+  /**
+   * deserializes the given holder into item stack without blocking the main thread.
+   * <p>
+   * the pure parts of the item are resolved on an async task of the plugin, the resolved parts are written into the
+   * item stack on the main thread.
+   *
+   * @param plugin the plugin to deserialize.
+   * @param holder the holder to deserialize.
+   *
+   * @return a future that completes with deserialized item stack.
+   *
+   * @see #deserializeAsync(KeyUtil.Holder, Executor, Executor)
+   */
+  @NotNull
+  public static CompletableFuture<ItemStack> deserializeAsync(@NotNull final Plugin plugin,
+                                                              @NotNull final KeyUtil.Holder<?> holder) {
+    return ItemStackUtil.deserializeAsync(holder,
+      runnable -> Bukkit.getScheduler().runTaskAsynchronously(plugin, runnable),
+      runnable -> {
+        if (Bukkit.isPrimaryThread()) {
+          runnable.run();
+        } else {
+          Bukkit.getScheduler().runTask(plugin, runnable);
+        }
+      });
+  }
+
+  /**
+   * deserializes the given holder into item stack without blocking the main thread.
+   *
+   * @param holder the holder to deserialize.
+   * @param executor the executor to resolve the pure parts of the item.
+   * @param mainThreadExecutor the executor to write the item meta on the main thread.
+   *
+   * @return a future that completes with deserialized item stack or completes exceptionally with
+   *   {@link IllegalArgumentException} if the holder is incorrect or its skull texture is a player name.
+   *
+   * @see PreparedItem
+   * @see #deserializeAsync(KeyUtil.Holder, SkullOwnerResolver, Executor, Executor)
+   */
+  @NotNull
+  public static CompletableFuture<ItemStack> deserializeAsync(@NotNull final KeyUtil.Holder<?> holder,
+                                                              @NotNull final Executor executor,
+                                                              @NotNull final Executor mainThreadExecutor) {
+    return CompletableFuture.supplyAsync(() -> PreparedItem.prepare(holder), executor)
+      .thenApplyAsync(prepared -> ItemStackUtil.applyPrepared(prepared, holder), mainThreadExecutor);
+  }
+
+  /**
+   * deserializes the given holder into item stack without blocking the main thread.
+   * <p>
+   * the skull texture that is a player name is resolved by the owner resolver first, the placeholder of the resolver
+   * is used if the name could not be resolved.
+   *
+   * @param holder the holder to deserialize.
+   * @param ownerResolver the owner resolver to resolve the player names.
+   * @param executor the executor to resolve the pure parts of the item.
+   * @param mainThreadExecutor the executor to write the item meta on the main thread.
+   *
+   * @return a future that completes with deserialized item stack or completes exceptionally with
+   *   {@link IllegalArgumentException} if the holder is incorrect.
+   *
+   * @see PreparedItem
+   */
+  @NotNull
+  public static CompletableFuture<ItemStack> deserializeAsync(@NotNull final KeyUtil.Holder<?> holder,
+                                                              @NotNull final SkullOwnerResolver ownerResolver,
+                                                              @NotNull final Executor executor,
+                                                              @NotNull final Executor mainThreadExecutor) {
+    final var owner = holder.get(KeyUtil.SKULL_TEXTURE_KEY, String.class)
+      .filter(SkullOwnerResolver::isName)
+      .map(name -> ownerResolver.resolve(name)
+        .handle((texture, throwable) -> throwable == null ? texture : Optional.<String>empty()))
+      .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    return owner
+      .thenApplyAsync(texture -> PreparedItem.prepare(holder, texture.orElse(ownerResolver.getPlaceholder())),
+        executor)
+      .thenApplyAsync(prepared -> ItemStackUtil.applyPrepared(prepared, holder), mainThreadExecutor);
+  }
+
+  /**
+   * parses the given material string into a new material.
+   *
+   * @param materialString the material string to parse.
+   *
+   * @return parsed material.
+   */
+  @NotNull
+  public static Optional<Material> parseMaterial(@NotNull final String materialString) {
+    try (final var ignored = Metrics.start(Phase.PARSE_MATERIAL)) {
+      return ItemStackUtil.matchMaterial(materialString);
+    }
+  }
+
+  /**
+   * serializes the given item stack into map.
+   *
+   * @param builder the item stack to builder.
+   * @param holder the holder to serialize.
+   */
+  public static void serialize(@NotNull final Builder<?, ?> builder, @NotNull final KeyUtil.Holder<?> holder) {
+    try (final var ignored = Metrics.start(Phase.SERIALIZE, builder)) {
+      ItemStackUtil.serializeBuilder(builder, holder);
+    }
+  }
+
+  /**
+   * serializes the given item stack into a new map.
+   *
+   * @param builder the builder to serialize.
+   *
+   * @return serialized map.
+   */
+  @NotNull
+  public static Map<String, Object> serialize(@NotNull final Builder<?, ?> builder) {
+    final var map = new HashMap<String, Object>();
+    ItemStackUtil.serialize(builder, KeyUtil.Holder.map(map));
+    return map;
+  }
+
+  /**
+   * serializes the given inventory contents in parallel.
+   *
+   * @param contents the contents to serialize.
+   *
+   * @return a future that completes with serialized contents.
+   *
+   * @see #serialize(ItemStack[], Executor)
+   */
+  @NotNull
+  public static CompletableFuture<KeyUtil.Holder<Map<String, Object>>> serialize(
+    @Nullable final ItemStack @NotNull [] contents) {
+    return ItemStackUtil.serialize(contents, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * serializes the given inventory contents in parallel.
+   * <p>
+   * the contents are cloned and their item metas are fetched on the caller thread, so this method should be called on
+   * the main thread. the executor only reads the snapshots, it never touches the item meta of an item stack, and each
+   * non-empty slot is stored under its slot index.
+   * <p>
+   * serialization:
+   * <pre>
+   * 0: (item section)
+   *   material: DIAMOND
+   *
+   * 8: (item section)
+   *   material: STONE
+   * </pre>
+   *
+   * @param contents the contents to serialize.
+   * @param executor the executor to serialize.
+   *
+   * @return a future that completes with serialized contents.
+   */
+  @NotNull
+  public static CompletableFuture<KeyUtil.Holder<Map<String, Object>>> serialize(
+    @Nullable final ItemStack @NotNull [] contents, @NotNull final Executor executor) {
+    final var snapshot = new ItemStackBuilder[contents.length];
+    for (var slot = 0; slot < contents.length; slot++) {
+      final var itemStack = contents[slot];
+      if (itemStack != null && itemStack.getType() != Material.AIR) {
+        snapshot[slot] = ItemStackBuilder.from(itemStack.clone());
+      }
+    }
+    @SuppressWarnings("unchecked") final CompletableFuture<Map<String, Object>>[] futures =
+      new CompletableFuture[snapshot.length];
+    for (var slot = 0; slot < snapshot.length; slot++) {
+      final var builder = snapshot[slot];
+      if (builder != null) {
+        futures[slot] = CompletableFuture.supplyAsync(() -> ItemStackUtil.serialize(builder), executor);
+      }
+    }
+    return CompletableFuture.allOf(Arrays.stream(futures)
+      .filter(Objects::nonNull)
+      .toArray(CompletableFuture[]::new))
+      .thenApply(unused -> {
+        final var serialized = new LinkedHashMap<String, Object>();
+        for (var slot = 0; slot < futures.length; slot++) {
+          if (futures[slot] != null) {
+            serialized.put(String.valueOf(slot), futures[slot].join());
+          }
+        }
+        return KeyUtil.Holder.map(serialized);
+      });
+  }
+
+  /**
+   * serializes only the keys of the given item stack that differ from the base.
+   *
+   * @param builder the builder to serialize.
+   * @param base the base to serialize.
+   * @param holder the holder to serialize.
+   *
+   * @see DeltaUtil#diff(Map, Map)
+   */
+  public static void serialize(@NotNull final Builder<?, ?> builder, @NotNull final Map<String, Object> base,
+                               @NotNull final KeyUtil.Holder<?> holder) {
+    DeltaUtil.diff(base, ItemStackUtil.serialize(builder)).forEach((key, value) -> {
+      if (value instanceof Map<?, ?>) {
+        //noinspection unchecked
+        holder.addAsMap(key, (Map<Object, Object>) value, Object.class, Object.class);
+      } else if (value instanceof Collection<?>) {
+        //noinspection unchecked
+        holder.addAsCollection(key, (Collection<Object>) value, Object.class);
+      } else {
+        holder.add(key, value, Object.class);
+      }
+    });
+  }
+
+  /**
+   * serializes only the keys of the given item stack that differ from the base builder.
+   *
+   * @param builder the builder to serialize.
+   * @param base the base to serialize.
+   * @param holder the holder to serialize.
+   */
+  public static void serialize(@NotNull final Builder<?, ?> builder, @NotNull final Builder<?, ?> base,
+                               @NotNull final KeyUtil.Holder<?> holder) {
+    ItemStackUtil.serialize(builder, ItemStackUtil.serialize(base), holder);
+  }
+
+  /**
+   * builds the given prepared item.
+   *
+   * @param prepared the prepared to build.
+   * @param holder the holder of the prepared item.
+   *
+   * @return built item stack.
+   *
+   * @throws IllegalArgumentException if the holder is incorrect.
+   */
+  @NotNull
+  private static ItemStack applyPrepared(@NotNull final Optional<PreparedItem> prepared,
+                                         @NotNull final KeyUtil.Holder<?> holder) {
+    return prepared
+      .map(PreparedItem::apply)
+      .orElseThrow(() ->
+        new IllegalArgumentException(String.format("The given holder is incorrect!\n%s", holder)));
+  }
+
+  /**
+   * deserializes the given holder into item stack by its type.
+   *
+   * @param holder the holder to deserialize.
+   *
+   * @return deserialized item stack.
+   */
+  @NotNull
+  private static Optional<ItemStack> deserializeItemStack(@NotNull final KeyUtil.Holder<?> holder) {
     return Builder.getSimpleItemStackDeserializer().apply(holder)
       .flatMap(builder -> {
         if (builder.isFirework()) {
@@ -107,14 +431,14 @@ public final class ItemStackUtil {
   }
 
   /**
-   * parses the given material string into a new material.
+   * matches the given material string with a material.
    *
-   * @param materialString the material string to parse.
+   * @param materialString the material string to match.
    *
-   * @return parsed material.
+   * @return matched material.
    */
   @NotNull
-  public static Optional<Material> parseMaterial(@NotNull final String materialString) {
+  private static Optional<Material> matchMaterial(@NotNull final String materialString) {
     if (Builder.VERSION <= 7) {
       return Optional.ofNullable(Material.getMaterial(materialString));
     }
@@ -130,12 +454,12 @@ public final class ItemStackUtil {
   }
 
   /**
-   * serializes the given item stack into map.
+   * serializes the given builder into the holder by its type.
    *
-   * @param builder the item stack to builder.
+   * @param builder the builder to serialize.
    * @param holder the holder to serialize.
    */
-  public static void serialize(@NotNull final Builder<?, ?> builder, @NotNull final KeyUtil.Holder<?> holder) {
+  private static void serializeBuilder(@NotNull final Builder<?, ?> builder, @NotNull final KeyUtil.Holder<?> holder) {
     if (builder.isFirework()) {
       builder.asFirework().serialize(holder);
     } else if (builder.isLeatherArmor()) {
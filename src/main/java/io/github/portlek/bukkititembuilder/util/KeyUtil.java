@@ -25,6 +25,8 @@
 
 package io.github.portlek.bukkititembuilder.util;
 
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
 import io.github.portlek.transformer.TransformedData;
 import io.github.portlek.transformer.declarations.GenericDeclaration;
 import java.util.Collection;
@@ -134,6 +136,11 @@ public final class KeyUtil {
    */
   public static final String GENERATION_KEY = "generation";
 
+  /**
+   * the items key.
+   */
+  public static final String ITEMS_KEY = "items";
+
   /**
    * the level key.
    */
@@ -189,6 +196,16 @@ public final class KeyUtil {
    */
   public static final String PROJECTILES_KEY = "projectiles";
 
+  /**
+   * the reference key.
+   */
+  public static final String REFERENCE_KEY = "ref";
+
+  /**
+   * the removed key, reserved for the deltas.
+   */
+  public static final String REMOVED_KEY = "removed";
+
   /**
    * the scale key.
    */
@@ -280,6 +297,28 @@ public final class KeyUtil {
         @NotNull
         @Override
         public <T> Optional<T> get(@NotNull final String key, @NotNull final Class<T> cls) {
+          try (final var ignored = Metrics.start(Phase.HOLDER_GET)) {
+            return this.find(key, cls);
+          }
+        }
+
+        @NotNull
+        @Override
+        public Map<String, Object> getHolder() {
+          return map;
+        }
+
+        /**
+         * finds the value at key.
+         *
+         * @param key the key to find.
+         * @param cls the cls to find.
+         * @param <T> type of the value.
+         *
+         * @return value at key.
+         */
+        @NotNull
+        private <T> Optional<T> find(@NotNull final String key, @NotNull final Class<T> cls) {
           final var value = map.get(key);
           if (value == null) {
             return Optional.empty();
@@ -305,12 +344,6 @@ public final class KeyUtil {
           }
           return Optional.empty();
         }
-
-        @NotNull
-        @Override
-        public Map<String, Object> getHolder() {
-          return map;
-        }
       };
     }
 
@@ -344,20 +377,26 @@ public final class KeyUtil {
         @NotNull
         @Override
         public <E> Optional<E> get(@NotNull final String key, @NotNull final Class<E> cls) {
-          return transformedData.get(key, cls);
+          try (final var ignored = Metrics.start(Phase.HOLDER_GET)) {
+            return transformedData.get(key, cls);
+          }
         }
 
         @NotNull
         @Override
         public <E> Optional<List<E>> getAsList(@NotNull final String key, @NotNull final Class<E> cls) {
-          return transformedData.getAsList(key, cls);
+          try (final var ignored = Metrics.start(Phase.HOLDER_GET)) {
+            return transformedData.getAsList(key, cls);
+          }
         }
 
         @NotNull
         @Override
         public <K, V> Optional<Map<K, V>> getAsMap(@NotNull final String key, @NotNull final Class<K> keyClass,
                                                    @NotNull final Class<V> valueClass) {
-          return transformedData.getAsMap(key, keyClass, valueClass);
+          try (final var ignored = Metrics.start(Phase.HOLDER_GET)) {
+            return transformedData.getAsMap(key, keyClass, valueClass);
+          }
         }
 
         @NotNull
@@ -407,6 +446,9 @@ public final class KeyUtil {
 
     /**
      * gets the value at key.
+     * <p>
+     * the built-in holders sample every call as {@link Phase#HOLDER_GET}, so each call does one volatile read of the
+     * installed metrics, even when none are installed, see {@code BuilderBenchmark#holderGet}.
      *
      * @param key the key to get.
      * @param cls the cls to get.
@@ -0,0 +1,378 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.EqualsAndHashCode;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.map.MapView;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that reuses {@link MapView} instances while deserializing map items.
+ * <p>
+ * the views are looked up by their map id first. an existing map id always wins, so the item keeps its map and the art
+ * on it, its settings are left untouched unless the caller asks to update them. the views are looked up by their
+ * serialized view parameters only if there is no map id or the map id no longer resolves, and a new view is created
+ * by {@link Bukkit#createMap(World)} only if both of the lookups miss, so loading the same map item again does not
+ * allocate a new map id and data file.
+ * <p>
+ * the views are kept per world id and weakly referenced, so the registry never keeps a view or its world alive, the
+ * views of a world are dropped when the world unloads if the registry is {@link #register(Plugin) registered}, or by
+ * {@link #clear(World)}. the returned views are shared and mutable, every item that resolves to the same map id or the
+ * same view parameters gets the same view instance, so changing a view's settings changes them for all of those items.
+ */
+public final class MapViewRegistry {
+
+  /**
+   * the created view count.
+   */
+  private static final AtomicLong CREATED = new AtomicLong();
+
+  /**
+   * the reused view count.
+   */
+  private static final AtomicLong REUSED = new AtomicLong();
+
+  /**
+   * the views by world id.
+   */
+  private static final Map<UUID, Views> VIEWS = new ConcurrentHashMap<>();
+
+  /**
+   * ctor.
+   */
+  private MapViewRegistry() {
+  }
+
+  /**
+   * clears the registry and its statistics.
+   */
+  public static synchronized void clear() {
+    MapViewRegistry.VIEWS.clear();
+    MapViewRegistry.CREATED.set(0L);
+    MapViewRegistry.REUSED.set(0L);
+  }
+
+  /**
+   * clears the views of the given world.
+   *
+   * @param world the world to clear.
+   */
+  public static synchronized void clear(@NotNull final World world) {
+    MapViewRegistry.VIEWS.remove(world.getUID());
+  }
+
+  /**
+   * obtains the created view count.
+   *
+   * @return created view count.
+   */
+  public static long getCreated() {
+    return MapViewRegistry.CREATED.get();
+  }
+
+  /**
+   * obtains the reused view count.
+   *
+   * @return reused view count.
+   */
+  public static long getReused() {
+    return MapViewRegistry.REUSED.get();
+  }
+
+  /**
+   * obtains a view that matches the given parameters, creates a new one if there is no view.
+   * <p>
+   * if the map id resolves, its view is returned as it is, even if its settings differ from the given parameters.
+   *
+   * @param mapId the map id to obtain.
+   * @param world the world to obtain.
+   * @param scale the scale to obtain.
+   * @param centerX the center x to obtain.
+   * @param centerZ the center z to obtain.
+   * @param locked the locked to obtain.
+   * @param trackingPosition the tracking position to obtain.
+   * @param unlimitedTracking the unlimited tracking to obtain.
+   *
+   * @return a shared map view.
+   */
+  @NotNull
+  public static MapView obtain(@Nullable final Integer mapId, @NotNull final World world,
+                               @NotNull final MapView.Scale scale, final int centerX, final int centerZ,
+                               final boolean locked, final boolean trackingPosition,
+                               final boolean unlimitedTracking) {
+    return MapViewRegistry.obtain(mapId, world, scale, centerX, centerZ, locked, trackingPosition, unlimitedTracking,
+      false);
+  }
+
+  /**
+   * obtains a view that matches the given parameters, creates a new one if there is no view.
+   * <p>
+   * if the map id resolves and its settings differ from the given parameters, the given parameters are applied to the
+   * shared view in place only if update is {@code true}.
+   *
+   * @param mapId the map id to obtain.
+   * @param world the world to obtain.
+   * @param scale the scale to obtain.
+   * @param centerX the center x to obtain.
+   * @param centerZ the center z to obtain.
+   * @param locked the locked to obtain.
+   * @param trackingPosition the tracking position to obtain.
+   * @param unlimitedTracking the unlimited tracking to obtain.
+   * @param update the update to obtain.
+   *
+   * @return a shared map view.
+   */
+  @NotNull
+  public static synchronized MapView obtain(@Nullable final Integer mapId, @NotNull final World world,
+                                            @NotNull final MapView.Scale scale, final int centerX,
+                                            final int centerZ, final boolean locked,
+                                            final boolean trackingPosition, final boolean unlimitedTracking,
+                                            final boolean update) {
+    final var views = MapViewRegistry.VIEWS.computeIfAbsent(world.getUID(), uid -> new Views());
+    final var spec = new Spec(centerX, centerZ, locked, scale, trackingPosition, unlimitedTracking, world.getUID());
+    if (mapId != null) {
+      var view = Views.get(views.byId, mapId);
+      if (view == null) {
+        view = Bukkit.getMap(mapId);
+      }
+      if (view != null) {
+        final var matches = spec.matches(view);
+        if (!matches && update) {
+          views.evict(view);
+          MapViewRegistry.configure(view, world, scale, centerX, centerZ, locked, trackingPosition,
+            unlimitedTracking);
+        }
+        views.byId.put(mapId, new WeakReference<>(view));
+        if ((matches || update) && Views.get(views.bySpec, spec) == null) {
+          views.bySpec.put(spec, new WeakReference<>(view));
+        }
+        MapViewRegistry.REUSED.incrementAndGet();
+        return view;
+      }
+    }
+    final var cached = Views.get(views.bySpec, spec);
+    if (cached != null) {
+      MapViewRegistry.REUSED.incrementAndGet();
+      return cached;
+    }
+    final var view = Bukkit.createMap(world);
+    MapViewRegistry.configure(view, world, scale, centerX, centerZ, locked, trackingPosition, unlimitedTracking);
+    views.byId.put(view.getId(), new WeakReference<>(view));
+    views.bySpec.put(spec, new WeakReference<>(view));
+    MapViewRegistry.CREATED.incrementAndGet();
+    return view;
+  }
+
+  /**
+   * registers a listener that clears the views of the unloaded worlds.
+   *
+   * @param plugin the plugin to register.
+   */
+  public static void register(@NotNull final Plugin plugin) {
+    final var listener = new Listener() {
+    };
+    Bukkit.getPluginManager().registerEvent(WorldUnloadEvent.class, listener, EventPriority.MONITOR,
+      (registered, event) -> {
+        if (event instanceof WorldUnloadEvent) {
+          MapViewRegistry.clear(((WorldUnloadEvent) event).getWorld());
+        }
+      }, plugin, true);
+  }
+
+  /**
+   * applies the given parameters to the view.
+   *
+   * @param view the view to configure.
+   * @param world the world to configure.
+   * @param scale the scale to configure.
+   * @param centerX the center x to configure.
+   * @param centerZ the center z to configure.
+   * @param locked the locked to configure.
+   * @param trackingPosition the tracking position to configure.
+   * @param unlimitedTracking the unlimited tracking to configure.
+   */
+  private static void configure(@NotNull final MapView view, @NotNull final World world,
+                                @NotNull final MapView.Scale scale, final int centerX, final int centerZ,
+                                final boolean locked, final boolean trackingPosition,
+                                final boolean unlimitedTracking) {
+    view.setWorld(world);
+    view.setScale(scale);
+    view.setLocked(locked);
+    view.setTrackingPosition(trackingPosition);
+    view.setUnlimitedTracking(unlimitedTracking);
+    view.setCenterX(centerX);
+    view.setCenterZ(centerZ);
+  }
+
+  /**
+   * a class that represents serialized view parameters.
+   */
+  @EqualsAndHashCode
+  private static final class Spec {
+
+    /**
+     * the center x.
+     */
+    private final int centerX;
+
+    /**
+     * the center z.
+     */
+    private final int centerZ;
+
+    /**
+     * the locked.
+     */
+    private final boolean locked;
+
+    /**
+     * the scale.
+     */
+    @NotNull
+    private final MapView.Scale scale;
+
+    /**
+     * the tracking position.
+     */
+    private final boolean trackingPosition;
+
+    /**
+     * the unlimited tracking.
+     */
+    private final boolean unlimitedTracking;
+
+    /**
+     * the world id.
+     */
+    @NotNull
+    private final UUID worldId;
+
+    /**
+     * ctor.
+     *
+     * @param centerX the center x.
+     * @param centerZ the center z.
+     * @param locked the locked.
+     * @param scale the scale.
+     * @param trackingPosition the tracking position.
+     * @param unlimitedTracking the unlimited tracking.
+     * @param worldId the world id.
+     */
+    private Spec(final int centerX, final int centerZ, final boolean locked, @NotNull final MapView.Scale scale,
+                 final boolean trackingPosition, final boolean unlimitedTracking, @NotNull final UUID worldId) {
+      this.centerX = centerX;
+      this.centerZ = centerZ;
+      this.locked = locked;
+      this.scale = scale;
+      this.trackingPosition = trackingPosition;
+      this.unlimitedTracking = unlimitedTracking;
+      this.worldId = worldId;
+    }
+
+    /**
+     * checks if the given view matches the spec.
+     *
+     * @param view the view to check.
+     *
+     * @return {@code true} if the view matches the spec.
+     */
+    private boolean matches(@NotNull final MapView view) {
+      final var world = view.getWorld();
+      return world != null &&
+        Objects.equals(world.getUID(), this.worldId) &&
+        view.getScale() == this.scale &&
+        view.getCenterX() == this.centerX &&
+        view.getCenterZ() == this.centerZ &&
+        view.isLocked() == this.locked &&
+        view.isTrackingPosition() == this.trackingPosition &&
+        view.isUnlimitedTracking() == this.unlimitedTracking;
+    }
+  }
+
+  /**
+   * a class that represents the weakly referenced views of a world.
+   */
+  private static final class Views {
+
+    /**
+     * the views by map id.
+     */
+    private final Map<Integer, WeakReference<MapView>> byId = new HashMap<>();
+
+    /**
+     * the views by spec.
+     */
+    private final Map<Spec, WeakReference<MapView>> bySpec = new HashMap<>();
+
+    /**
+     * obtains the view of the given key, removes the key if its view is collected.
+     *
+     * @param views the views to obtain.
+     * @param key the key to obtain.
+     * @param <K> type of the key.
+     *
+     * @return view of the key or {@code null} if there is no view.
+     */
+    @Nullable
+    private static <K> MapView get(@NotNull final Map<K, WeakReference<MapView>> views, @NotNull final K key) {
+      final var reference = views.get(key);
+      if (reference == null) {
+        return null;
+      }
+      final var view = reference.get();
+      if (view == null) {
+        views.remove(key);
+      }
+      return view;
+    }
+
+    /**
+     * removes the specs of the given view and the collected views.
+     *
+     * @param view the view to evict.
+     */
+    private void evict(@NotNull final MapView view) {
+      this.bySpec.values().removeIf(reference -> {
+        final var cached = reference.get();
+        return cached == null || cached == view;
+      });
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents skull texture resolvers which resolve the textures from the mojang api.
+ * <p>
+ * the names are validated by {@link SkullOwnerResolver#isName(String)} before they are put into the request urls.
+ */
+public final class MojangSkullTextureResolver implements SkullTextureResolver {
+
+  /**
+   * the profile url.
+   */
+  private static final String PROFILE_URL = "https://sessionserver.mojang.com/session/minecraft/profile/";
+
+  /**
+   * the uuid url.
+   */
+  private static final String UUID_URL = "https://api.mojang.com/users/profiles/minecraft/";
+
+  /**
+   * the client.
+   */
+  @NotNull
+  private final HttpClient client;
+
+  /**
+   * the timeout.
+   */
+  @NotNull
+  private final Duration timeout;
+
+  /**
+   * ctor.
+   *
+   * @param timeout the timeout.
+   */
+  public MojangSkullTextureResolver(@NotNull final Duration timeout) {
+    this.timeout = timeout;
+    this.client = HttpClient.newBuilder()
+      .connectTimeout(timeout)
+      .build();
+  }
+
+  /**
+   * ctor.
+   */
+  public MojangSkullTextureResolver() {
+    this(Duration.ofSeconds(5L));
+  }
+
+  @NotNull
+  @Override
+  public CompletableFuture<Optional<String>> resolve(@NotNull final String name) {
+    if (!SkullOwnerResolver.isName(name)) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException(String.format(
+        "%s is not a valid player name!", name)));
+    }
+    return this.get(MojangSkullTextureResolver.UUID_URL + name)
+      .thenCompose(uuid -> uuid
+        .map(json -> json.get("id").getAsString())
+        .map(id -> this.get(MojangSkullTextureResolver.PROFILE_URL + id)
+          .thenApply(profile -> profile.flatMap(MojangSkullTextureResolver::getTexture)))
+        .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty())));
+  }
+
+  /**
+   * obtains the texture value of the given profile.
+   *
+   * @param profile the profile to obtain.
+   *
+   * @return texture value.
+   */
+  @NotNull
+  private static Optional<String> getTexture(@NotNull final JsonObject profile) {
+    final var properties = profile.getAsJsonArray("properties");
+    if (properties == null) {
+      return Optional.empty();
+    }
+    for (final var element : properties) {
+      final var property = element.getAsJsonObject();
+      if ("textures".equals(property.get("name").getAsString())) {
+        return Optional.of(property.get("value").getAsString());
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * sends a get request to the given url.
+   *
+   * @param url the url to send.
+   *
+   * @return response body as json object, or empty if the response has no content.
+   */
+  @NotNull
+  private CompletableFuture<Optional<JsonObject>> get(@NotNull final String url) {
+    final var request = HttpRequest.newBuilder(URI.create(url))
+      .timeout(this.timeout)
+      .GET()
+      .build();
+    return this.client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+      .thenApply(response -> {
+        if (response.statusCode() != 200 || response.body().isBlank()) {
+          return Optional.empty();
+        }
+        return Optional.of(new JsonParser().parse(response.body()).getAsJsonObject());
+      });
+  }
+}
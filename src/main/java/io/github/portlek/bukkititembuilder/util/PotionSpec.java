@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import com.cryptomorin.xseries.XPotion;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.bukkit.potion.PotionData;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents pre-parsed potion specs.
+ * <p>
+ * the parsed {@link PotionEffect} and {@link PotionData} instances are immutable, so they are cached by their strings
+ * and shared between the specs and {@link io.github.portlek.bukkititembuilder.PotionItemBuilder}s.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class PotionSpec {
+
+  /**
+   * the maximum size of the caches.
+   */
+  public static final int MAXIMUM_SIZE = 1024;
+
+  /**
+   * the potion data by base effect string.
+   */
+  private static final Map<String, Optional<PotionData>> DATA = new ConcurrentHashMap<>();
+
+  /**
+   * the potion effects by effect string.
+   */
+  private static final Map<String, Optional<PotionEffect>> EFFECTS = new ConcurrentHashMap<>();
+
+  /**
+   * the base potion data.
+   */
+  @Nullable
+  private final PotionData baseData;
+
+  /**
+   * the custom effects.
+   */
+  @NotNull
+  private final List<PotionEffect> customEffects;
+
+  /**
+   * ctor.
+   *
+   * @param baseData the base data.
+   * @param customEffects the custom effects.
+   */
+  private PotionSpec(@Nullable final PotionData baseData, @NotNull final List<PotionEffect> customEffects) {
+    this.baseData = baseData;
+    this.customEffects = customEffects;
+  }
+
+  /**
+   * clears the caches.
+   */
+  public static void clear() {
+    PotionSpec.DATA.clear();
+    PotionSpec.EFFECTS.clear();
+  }
+
+  /**
+   * obtains the potion data of the given base effect string.
+   *
+   * @param data the data to obtain, 'potion type name, extended, upgraded'.
+   *
+   * @return potion data.
+   */
+  @NotNull
+  public static Optional<PotionData> data(@NotNull final String data) {
+    final var cached = PotionSpec.DATA.get(data);
+    if (cached != null) {
+      return cached;
+    }
+    final var parsed = PotionSpec.parseData(data);
+    if (PotionSpec.DATA.size() < PotionSpec.MAXIMUM_SIZE) {
+      PotionSpec.DATA.put(data, parsed);
+    }
+    return parsed;
+  }
+
+  /**
+   * obtains the potion effect of the given effect string.
+   *
+   * @param effect the effect to obtain, 'effect type name, duration, amplifier'.
+   *
+   * @return potion effect.
+   */
+  @NotNull
+  public static Optional<PotionEffect> effect(@NotNull final String effect) {
+    final var cached = PotionSpec.EFFECTS.get(effect);
+    if (cached != null) {
+      return cached;
+    }
+    final var parsed = Optional.ofNullable(XPotion.parsePotionEffectFromString(effect));
+    if (PotionSpec.EFFECTS.size() < PotionSpec.MAXIMUM_SIZE) {
+      PotionSpec.EFFECTS.put(effect, parsed);
+    }
+    return parsed;
+  }
+
+  /**
+   * parses the given strings into a potion spec.
+   *
+   * @param baseData the base data to parse.
+   * @param customEffects the custom effects to parse.
+   *
+   * @return parsed potion spec.
+   */
+  @NotNull
+  public static PotionSpec parse(@Nullable final String baseData, @NotNull final Collection<String> customEffects) {
+    final var effects = new ArrayList<PotionEffect>(customEffects.size());
+    for (final var effect : customEffects) {
+      PotionSpec.effect(effect).ifPresent(effects::add);
+    }
+    final var data = baseData == null ? null : PotionSpec.data(baseData).orElse(null);
+    return new PotionSpec(data, Collections.unmodifiableList(effects));
+  }
+
+  /**
+   * serializes the given potion data.
+   *
+   * @param data the data to serialize.
+   *
+   * @return serialized potion data.
+   */
+  @NotNull
+  public static String serialize(@NotNull final PotionData data) {
+    return data.getType().name() + ", " + data.isExtended() + ", " + data.isUpgraded();
+  }
+
+  /**
+   * serializes the given potion effect.
+   * <p>
+   * the duration is written in seconds and the amplifier as a level, the way {@link #effect(String)} reads them, so
+   * the serialized effect parses back into the same effect.
+   *
+   * @param effect the effect to serialize.
+   *
+   * @return serialized potion effect.
+   */
+  @NotNull
+  public static String serialize(@NotNull final PotionEffect effect) {
+    return effect.getType().getName() + ", " + effect.getDuration() / 20 + ", " + (effect.getAmplifier() + 1);
+  }
+
+  /**
+   * parses the given base effect string.
+   *
+   * @param data the data to parse.
+   *
+   * @return parsed potion data.
+   */
+  @NotNull
+  private static Optional<PotionData> parseData(@NotNull final String data) {
+    if (data.isEmpty()) {
+      return Optional.empty();
+    }
+    final var split = data.split(",");
+    PotionType type;
+    try {
+      type = PotionType.valueOf(split[0].trim().toUpperCase(Locale.ROOT));
+    } catch (final Exception e) {
+      type = PotionType.UNCRAFTABLE;
+    }
+    final var extended = split.length != 1 && Boolean.parseBoolean(split[1].trim());
+    final var upgraded = split.length > 2 && Boolean.parseBoolean(split[2].trim());
+    return Optional.of(new PotionData(type, extended, upgraded));
+  }
+}
@@ -0,0 +1,449 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import com.cryptomorin.xseries.XEnchantment;
+import com.mojang.authlib.GameProfile;
+import io.github.portlek.bukkititembuilder.BannerItemBuilder;
+import io.github.portlek.bukkititembuilder.BookItemBuilder;
+import io.github.portlek.bukkititembuilder.Builder;
+import io.github.portlek.bukkititembuilder.CrossbowItemBuilder;
+import io.github.portlek.bukkititembuilder.FireworkItemBuilder;
+import io.github.portlek.bukkititembuilder.ItemStackBuilder;
+import io.github.portlek.bukkititembuilder.LeatherArmorItemBuilder;
+import io.github.portlek.bukkititembuilder.MapItemBuilder;
+import io.github.portlek.bukkititembuilder.PotionItemBuilder;
+import io.github.portlek.bukkititembuilder.SkullItemBuilder;
+import io.github.portlek.bukkititembuilder.SpawnEggItemBuilder;
+import io.github.portlek.bukkititembuilder.color.XColor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.FireworkEffect;
+import org.bukkit.Material;
+import org.bukkit.block.banner.Pattern;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that represents item stacks whose pure parts are already resolved.
+ * <p>
+ * {@link #prepare(KeyUtil.Holder)} does not touch the Bukkit API, so it can run on any thread. it parses the material,
+ * the amount and the damage, colorizes the name and the lore, resolves the enchantments and the flags, parses the
+ * potion spec, the firework effects and the banner patterns and prepares the skull profile. {@link #apply()} creates
+ * the item stack from the parsed material and writes the resolved parts into its meta, so it has to run on the main
+ * thread. only the keys that are not resolved, e.g. the book pages or the map view, are deserialized there.
+ * <p>
+ * the skull textures that are player names are never resolved on the main thread, they have to be resolved by a
+ * {@link SkullOwnerResolver} before, see {@link #prepare(KeyUtil.Holder, String)}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PreparedItem {
+
+  /**
+   * the keys that are resolved by the prepared item.
+   */
+  private static final Set<String> RESOLVED_KEYS = PreparedItem.resolvedKeys();
+
+  /**
+   * the amount.
+   */
+  @Getter
+  private final int amount;
+
+  /**
+   * the damage.
+   */
+  @Nullable
+  @Getter
+  private final Short damage;
+
+  /**
+   * the data, for 12 and older versions.
+   */
+  @Nullable
+  @Getter
+  private final Byte data;
+
+  /**
+   * the enchantments.
+   */
+  @NotNull
+  @Getter
+  private final Map<Enchantment, Integer> enchantments;
+
+  /**
+   * the firework effects.
+   */
+  @NotNull
+  @Getter
+  private final List<FireworkEffect> fireworkEffects;
+
+  /**
+   * the flags.
+   */
+  @NotNull
+  @Getter
+  private final List<ItemFlag> flags;
+
+  /**
+   * the holder without the resolved keys.
+   */
+  @NotNull
+  private final KeyUtil.Holder<?> holder;
+
+  /**
+   * the lore.
+   */
+  @Nullable
+  @Getter
+  private final List<String> lore;
+
+  /**
+   * the material.
+   */
+  @NotNull
+  @Getter
+  private final Material material;
+
+  /**
+   * the name.
+   */
+  @Nullable
+  @Getter
+  private final String name;
+
+  /**
+   * the banner patterns.
+   */
+  @NotNull
+  @Getter
+  private final List<Pattern> patterns;
+
+  /**
+   * the potion spec.
+   */
+  @Nullable
+  @Getter
+  private final PotionSpec potion;
+
+  /**
+   * the prepared skull profile.
+   */
+  @Nullable
+  @Getter
+  private final GameProfile skullProfile;
+
+  /**
+   * the skull texture.
+   */
+  @Nullable
+  @Getter
+  private final String skullTexture;
+
+  /**
+   * prepares the given holder.
+   *
+   * @param holder the holder to prepare.
+   *
+   * @return prepared item.
+   *
+   * @throws IllegalArgumentException if the skull texture of the holder is a player name.
+   */
+  @NotNull
+  public static Optional<PreparedItem> prepare(@NotNull final KeyUtil.Holder<?> holder) {
+    holder.get(KeyUtil.SKULL_TEXTURE_KEY, String.class)
+      .filter(SkullOwnerResolver::isName)
+      .ifPresent(name -> {
+        throw new IllegalArgumentException(String.format(
+          "The skull owner %s is a player name, resolve it with a SkullOwnerResolver first!", name));
+      });
+    return PreparedItem.prepare(holder, null);
+  }
+
+  /**
+   * prepares the given holder.
+   *
+   * @param holder the holder to prepare.
+   * @param ownerTexture the texture to use if the skull texture of the holder is a player name, e.g. resolved by
+   *   {@link SkullOwnerResolver#resolve(String)}, the skull has no texture if it is {@code null}.
+   *
+   * @return prepared item.
+   */
+  @NotNull
+  public static Optional<PreparedItem> prepare(@NotNull final KeyUtil.Holder<?> holder,
+                                               @Nullable final String ownerTexture) {
+    final var material = holder.get(KeyUtil.MATERIAL_KEY, String.class)
+      .flatMap(ItemStackUtil::parseMaterial);
+    if (material.isEmpty()) {
+      return Optional.empty();
+    }
+    final int amount = holder.get(KeyUtil.AMOUNT_KEY, int.class)
+      .orElse(1);
+    final var damage = holder.get(KeyUtil.DAMAGE_KEY, short.class)
+      .orElse(null);
+    final var data = Builder.VERSION < 13
+      ? holder.get(KeyUtil.DATA_KEY, byte.class).orElse(null)
+      : null;
+    final var name = holder.get(KeyUtil.DISPLAY_NAME_KEY, String.class)
+      .map(XColor::colorize)
+      .orElse(null);
+    final var lore = holder.getAsList(KeyUtil.LORE_KEY, String.class)
+      .map(XColor::colorize)
+      .orElse(null);
+    final var enchantments = new HashMap<Enchantment, Integer>();
+    holder.getAsMap(KeyUtil.ENCHANTMENT_KEY, String.class, Integer.class).ifPresent(map ->
+      map.forEach((enchantmentString, level) ->
+        XEnchantment.matchXEnchantment(String.valueOf(enchantmentString))
+          .flatMap(enchantment -> Optional.ofNullable(enchantment.parseEnchantment()))
+          .ifPresent(enchantment -> enchantments.put(enchantment, level))));
+    final var flags = new ArrayList<ItemFlag>();
+    holder.getAsList(KeyUtil.FLAG_KEY, String.class).ifPresent(list ->
+      list.stream()
+        .map(ItemFlag::valueOf)
+        .forEach(flags::add));
+    final var fireworkEffects = new ArrayList<FireworkEffect>();
+    holder.getAsMap(KeyUtil.FIREWORK_KEY, String.class, Map.class).ifPresent(firework ->
+      firework.values().forEach(value -> fireworkEffects.add(FireworkEffectPool.parse(value))));
+    final var patterns = holder.getAsList(KeyUtil.PATTERNS_KEY, String.class)
+      .map(BannerLayers::parse)
+      .or(() -> holder.getAsMap(KeyUtil.PATTERNS_KEY, String.class, Object.class)
+        .map(BannerLayers::parseLegacy))
+      .orElse(Collections.emptyList());
+    final var potion = PreparedItem.preparePotion(holder);
+    final var skullTexture = holder.get(KeyUtil.SKULL_TEXTURE_KEY, String.class)
+      .map(texture -> SkullOwnerResolver.isName(texture) ? ownerTexture : texture)
+      .orElse(null);
+    final var skullProfile = skullTexture == null ? null : SkullTextureCache.prepare(skullTexture);
+    return Optional.of(new PreparedItem(amount, damage, data, Collections.unmodifiableMap(enchantments),
+      Collections.unmodifiableList(fireworkEffects), Collections.unmodifiableList(flags),
+      PreparedItem.withoutResolvedKeys(holder), lore, material.get(), name, patterns, potion, skullProfile,
+      skullTexture));
+  }
+
+  /**
+   * deserializes the keys that are not resolved into the given builder by its type.
+   *
+   * @param builder the builder to deserialize.
+   * @param holder the holder to deserialize.
+   *
+   * @return the builder of the item's type.
+   */
+  @NotNull
+  private static Builder<?, ?> applyUnresolved(@NotNull final ItemStackBuilder builder,
+                                               @NotNull final KeyUtil.Holder<?> holder) {
+    if (builder.isFirework()) {
+      return FireworkItemBuilder.getDeserializer().apply(builder.asFirework(), holder);
+    }
+    if (builder.isLeatherArmor()) {
+      return LeatherArmorItemBuilder.getDeserializer().apply(builder.asLeatherArmor(), holder);
+    }
+    if (builder.isMap()) {
+      return MapItemBuilder.getDeserializer().apply(builder.asMap(), holder);
+    }
+    if (builder.isPotion()) {
+      return PotionItemBuilder.getDeserializer().apply(builder.asPotion(), holder);
+    }
+    if (builder.isBanner()) {
+      return BannerItemBuilder.getDeserializer().apply(builder.asBanner(), holder);
+    }
+    if (builder.isBook()) {
+      return BookItemBuilder.getDeserializer().apply(builder.asBook(), holder);
+    }
+    if (builder.isCrossbow()) {
+      return CrossbowItemBuilder.getDeserializer().apply(builder.asCrossbow(), holder);
+    }
+    if (builder.isSkull()) {
+      return SkullItemBuilder.getDeserializer().apply(builder.asSkull(), holder);
+    }
+    if (builder.isSpawnEgg()) {
+      return SpawnEggItemBuilder.getDeserializer().apply(builder.asSpawnEgg(), holder);
+    }
+    return Builder.getItemMetaDeserializer(builder).apply(holder);
+  }
+
+  /**
+   * prepares the potion spec of the given holder.
+   * <p>
+   * the potions of 8 and older versions are built from their level, so they are left to the deserializer.
+   *
+   * @param holder the holder to prepare.
+   *
+   * @return prepared potion spec or {@code null} if the holder has no potion effects.
+   */
+  @Nullable
+  private static PotionSpec preparePotion(@NotNull final KeyUtil.Holder<?> holder) {
+    if (Builder.VERSION < 9) {
+      return null;
+    }
+    final var baseEffect = holder.get(KeyUtil.BASE_EFFECT_KEY, String.class);
+    final var customEffects = holder.getAsList(KeyUtil.CUSTOM_EFFECTS_KEY, String.class);
+    if (baseEffect.isEmpty() && customEffects.isEmpty()) {
+      return null;
+    }
+    return PotionSpec.parse(baseEffect.orElse(null), customEffects.orElse(Collections.emptyList()));
+  }
+
+  /**
+   * creates the keys that are resolved by the prepared item.
+   *
+   * @return resolved keys.
+   */
+  @NotNull
+  private static Set<String> resolvedKeys() {
+    final var keys = new HashSet<>(List.of(
+      KeyUtil.MATERIAL_KEY,
+      KeyUtil.AMOUNT_KEY,
+      KeyUtil.DAMAGE_KEY,
+      KeyUtil.DATA_KEY,
+      KeyUtil.DISPLAY_NAME_KEY,
+      KeyUtil.LORE_KEY,
+      KeyUtil.ENCHANTMENT_KEY,
+      KeyUtil.FLAG_KEY,
+      KeyUtil.FIREWORK_KEY,
+      KeyUtil.PATTERNS_KEY,
+      KeyUtil.SKULL_TEXTURE_KEY));
+    if (Builder.VERSION >= 9) {
+      keys.add(KeyUtil.BASE_EFFECT_KEY);
+      keys.add(KeyUtil.CUSTOM_EFFECTS_KEY);
+    }
+    return Collections.unmodifiableSet(keys);
+  }
+
+  /**
+   * creates a holder that hides {@link #RESOLVED_KEYS} of the given holder.
+   *
+   * @param holder the holder to create.
+   *
+   * @return a newly created holder.
+   */
+  @NotNull
+  private static KeyUtil.Holder<?> withoutResolvedKeys(@NotNull final KeyUtil.Holder<?> holder) {
+    return new KeyUtil.Holder<>() {
+      @Override
+      public <E> void add(@NotNull final String key, @Nullable final E object, @NotNull final Class<E> cls) {
+        holder.add(key, object, cls);
+      }
+
+      @NotNull
+      @Override
+      public <E> Optional<E> get(@NotNull final String key, @NotNull final Class<E> cls) {
+        if (PreparedItem.RESOLVED_KEYS.contains(key)) {
+          return Optional.empty();
+        }
+        return holder.get(key, cls);
+      }
+
+      @NotNull
+      @Override
+      public <E> Optional<List<E>> getAsList(@NotNull final String key, @NotNull final Class<E> cls) {
+        if (PreparedItem.RESOLVED_KEYS.contains(key)) {
+          return Optional.empty();
+        }
+        return holder.getAsList(key, cls);
+      }
+
+      @NotNull
+      @Override
+      public <K, V> Optional<Map<K, V>> getAsMap(@NotNull final String key, @NotNull final Class<K> keyClass,
+                                                 @NotNull final Class<V> valueClass) {
+        if (PreparedItem.RESOLVED_KEYS.contains(key)) {
+          return Optional.empty();
+        }
+        return holder.getAsMap(key, keyClass, valueClass);
+      }
+
+      @NotNull
+      @Override
+      public Object getHolder() {
+        return holder.getHolder();
+      }
+
+      @Override
+      public String toString() {
+        return String.valueOf(holder.getHolder());
+      }
+    };
+  }
+
+  /**
+   * builds the item stack.
+   * <p>
+   * this method uses the Bukkit API, so it has to be called on the main thread. the item stack is created from the
+   * prepared material, the resolved parts are written into its meta and only the keys that are not resolved are
+   * deserialized.
+   *
+   * @return built item stack.
+   */
+  @NotNull
+  public ItemStack apply() {
+    final var itemStack = new ItemStack(this.material, this.amount);
+    if (this.damage != null) {
+      itemStack.setDurability(this.damage);
+    }
+    if (this.data != null) {
+      itemStack.setData(this.material.getNewData(this.data));
+    }
+    final var builder = PreparedItem.applyUnresolved(ItemStackBuilder.from(itemStack), this.holder);
+    if (this.name != null) {
+      builder.setName(this.name, false);
+    }
+    if (this.lore != null) {
+      builder.setLore(this.lore, false);
+    }
+    builder.addEnchantments(this.enchantments);
+    if (!this.flags.isEmpty()) {
+      builder.addFlag(this.flags.toArray(ItemFlag[]::new));
+    }
+    if (this.potion != null && builder.isPotion()) {
+      builder.asPotion().applySpec(this.potion, true);
+    }
+    if (!this.fireworkEffects.isEmpty() && builder.isFirework()) {
+      builder.asFirework().addEffects(this.fireworkEffects);
+    }
+    if (!this.patterns.isEmpty() && builder.isBanner()) {
+      builder.asBanner().addPatterns(this.patterns);
+    }
+    if (this.skullTexture != null && builder.isSkull()) {
+      final var skull = builder.asSkull();
+      if (this.skullProfile == null || !SkullTextureCache.apply(skull.getItemMeta(), this.skullProfile)) {
+        skull.setOwner(this.skullTexture);
+      }
+    }
+    return builder.getItemStack();
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that resolves skull owners by player names asynchronously.
+ * <p>
+ * the names are looked up in the {@link SkullTextureStore} first, the missing ones are resolved by the
+ * {@link SkullTextureResolver} and stored. the same name is resolved only once while its resolution is in flight. the
+ * store writes the resolved textures into its file in batches, close the store on shutdown to flush the pending ones.
+ */
+public final class SkullOwnerResolver {
+
+  /**
+   * the player name pattern.
+   */
+  private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]{1,16}");
+
+  /**
+   * the callback executor.
+   */
+  @NotNull
+  @Getter
+  private final Executor callbackExecutor;
+
+  /**
+   * the in-flight resolutions.
+   */
+  private final Map<String, CompletableFuture<Optional<String>>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * the placeholder texture.
+   */
+  @Nullable
+  @Getter
+  private final String placeholder;
+
+  /**
+   * the resolver.
+   */
+  @NotNull
+  private final SkullTextureResolver resolver;
+
+  /**
+   * the store.
+   */
+  @NotNull
+  @Getter
+  private final SkullTextureStore store;
+
+  /**
+   * ctor.
+   *
+   * @param callbackExecutor the callback executor.
+   * @param placeholder the placeholder.
+   * @param resolver the resolver.
+   * @param store the store.
+   */
+  private SkullOwnerResolver(@NotNull final Executor callbackExecutor, @Nullable final String placeholder,
+                             @NotNull final SkullTextureResolver resolver, @NotNull final SkullTextureStore store) {
+    this.callbackExecutor = callbackExecutor;
+    this.placeholder = placeholder;
+    this.resolver = resolver;
+    this.store = store;
+  }
+
+  /**
+   * creates a new skull owner resolver.
+   *
+   * @param resolver the resolver to create.
+   * @param store the store to create.
+   * @param placeholder the placeholder texture to create.
+   * @param callbackExecutor the callback executor to create.
+   *
+   * @return a newly created skull owner resolver.
+   */
+  @NotNull
+  public static SkullOwnerResolver create(@NotNull final SkullTextureResolver resolver,
+                                          @NotNull final SkullTextureStore store,
+                                          @Nullable final String placeholder,
+                                          @NotNull final Executor callbackExecutor) {
+    return new SkullOwnerResolver(callbackExecutor, placeholder, resolver, store);
+  }
+
+  /**
+   * creates a new skull owner resolver which runs the callbacks on the main thread of the server.
+   *
+   * @param plugin the plugin to create.
+   * @param resolver the resolver to create.
+   * @param store the store to create.
+   * @param placeholder the placeholder texture to create.
+   *
+   * @return a newly created skull owner resolver.
+   */
+  @NotNull
+  public static SkullOwnerResolver create(@NotNull final Plugin plugin, @NotNull final SkullTextureResolver resolver,
+                                          @NotNull final SkullTextureStore store,
+                                          @Nullable final String placeholder) {
+    return SkullOwnerResolver.create(resolver, store, placeholder, runnable -> {
+      if (Bukkit.isPrimaryThread()) {
+        runnable.run();
+      } else {
+        Bukkit.getScheduler().runTask(plugin, runnable);
+      }
+    });
+  }
+
+  /**
+   * checks if the given text is a player name.
+   *
+   * @param text the text to check.
+   *
+   * @return {@code true} if the text is a player name.
+   */
+  public static boolean isName(@NotNull final String text) {
+    return SkullOwnerResolver.NAME.matcher(text).matches();
+  }
+
+  /**
+   * obtains the stored texture of the given name without resolving it.
+   *
+   * @param name the name to obtain.
+   *
+   * @return stored texture of the name.
+   */
+  @NotNull
+  public Optional<String> getNow(@NotNull final String name) {
+    return this.store.get(name);
+  }
+
+  /**
+   * resolves the texture of the given name.
+   *
+   * @param name the name to resolve.
+   *
+   * @return texture of the name, or empty if the name could not be resolved.
+   */
+  @NotNull
+  public CompletableFuture<Optional<String>> resolve(@NotNull final String name) {
+    final var stored = this.store.get(name);
+    if (stored.isPresent()) {
+      return CompletableFuture.completedFuture(stored);
+    }
+    final var key = name.toLowerCase(Locale.ROOT);
+    final var created = new CompletableFuture<Optional<String>>();
+    final var existing = this.inFlight.putIfAbsent(key, created);
+    if (existing != null) {
+      return existing;
+    }
+    CompletableFuture<Optional<String>> future;
+    try {
+      future = this.resolver.resolve(name);
+    } catch (final Throwable e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    future.whenComplete((texture, throwable) -> {
+      this.inFlight.remove(key, created);
+      if (throwable != null) {
+        created.completeExceptionally(throwable);
+        return;
+      }
+      texture.ifPresent(value -> this.store.put(name, value));
+      created.complete(texture);
+    });
+    return created;
+  }
+}
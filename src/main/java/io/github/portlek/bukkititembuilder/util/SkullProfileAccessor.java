@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import com.mojang.authlib.GameProfile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that accesses the game profile of {@link SkullMeta} instances.
+ * <p>
+ * the profile field and the {@code setProfile} method of the craft skull meta are resolved once for the running server
+ * version and bound to static final method handles, so the JIT can inline them.
+ */
+final class SkullProfileAccessor {
+
+  /**
+   * the profile getter.
+   */
+  @Nullable
+  private static final MethodHandle GETTER;
+
+  /**
+   * the profile setter.
+   */
+  @Nullable
+  private static final MethodHandle SETTER;
+
+  static {
+    MethodHandle getter = null;
+    MethodHandle setter = null;
+    try {
+      final var cls = Class.forName(Bukkit.getServer().getClass().getPackage().getName() +
+        ".inventory.CraftMetaSkull");
+      final var lookup = MethodHandles.lookup();
+      final var field = cls.getDeclaredField("profile");
+      field.setAccessible(true);
+      getter = lookup.unreflectGetter(field)
+        .asType(MethodType.methodType(GameProfile.class, SkullMeta.class));
+      try {
+        final var method = cls.getDeclaredMethod("setProfile", GameProfile.class);
+        method.setAccessible(true);
+        setter = lookup.unreflect(method);
+      } catch (final NoSuchMethodException e) {
+        setter = lookup.unreflectSetter(field);
+      }
+      setter = setter.asType(MethodType.methodType(void.class, SkullMeta.class, GameProfile.class));
+    } catch (final Throwable e) {
+      Logger.getLogger(SkullProfileAccessor.class.getName()).log(Level.WARNING,
+        "Couldn't access the skull profile, the skull textures fall back to the reflection of SkullUtils!", e);
+    }
+    GETTER = getter;
+    SETTER = setter;
+  }
+
+  /**
+   * ctor.
+   */
+  private SkullProfileAccessor() {
+  }
+
+  /**
+   * obtains the profile of the given meta.
+   *
+   * @param meta the meta to obtain.
+   *
+   * @return profile of the meta, {@code null} if the meta has no profile or the profile is not accessible.
+   */
+  @Nullable
+  static GameProfile getProfile(@NotNull final SkullMeta meta) {
+    if (SkullProfileAccessor.GETTER == null) {
+      return null;
+    }
+    try {
+      return (GameProfile) SkullProfileAccessor.GETTER.invokeExact(meta);
+    } catch (final Throwable e) {
+      return null;
+    }
+  }
+
+  /**
+   * checks if the profile is accessible on the running server.
+   *
+   * @return {@code true} if the profile is accessible.
+   */
+  static boolean isAvailable() {
+    return SkullProfileAccessor.GETTER != null && SkullProfileAccessor.SETTER != null;
+  }
+
+  /**
+   * sets the profile of the given meta.
+   *
+   * @param meta the meta to set.
+   * @param profile the profile to set.
+   *
+   * @return {@code true} if the profile is set.
+   */
+  static boolean setProfile(@NotNull final SkullMeta meta, @Nullable final GameProfile profile) {
+    if (SkullProfileAccessor.SETTER == null) {
+      return false;
+    }
+    try {
+      SkullProfileAccessor.SETTER.invokeExact(meta, profile);
+      return true;
+    } catch (final Throwable e) {
+      return false;
+    }
+  }
+}
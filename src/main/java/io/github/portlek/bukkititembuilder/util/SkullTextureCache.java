@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import com.cryptomorin.xseries.SkullUtils;
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that caches prepared game profiles of skull textures.
+ * <p>
+ * the profiles of textures.minecraft.net urls, texture hashes and base64 values are created once by
+ * {@link #prepare(String)} and cached by the texture, every application injects a copy of the cached profile into the
+ * meta through {@link SkullProfileAccessor}. player names are not cached here, they are resolved and expired by
+ * {@link SkullOwnerResolver}, so they and the servers that the accessor does not support go through
+ * {@link SkullUtils#applySkin(org.bukkit.inventory.meta.ItemMeta, String)}.
+ */
+public final class SkullTextureCache {
+
+  /**
+   * the maximum size of the cache.
+   */
+  public static final int MAXIMUM_SIZE = 1024;
+
+  /**
+   * the hits.
+   */
+  private static final AtomicLong HITS = new AtomicLong();
+
+  /**
+   * the misses.
+   */
+  private static final AtomicLong MISSES = new AtomicLong();
+
+  /**
+   * the profiles by texture.
+   */
+  private static final Map<String, GameProfile> PROFILES = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, GameProfile> eldest) {
+      return this.size() > SkullTextureCache.MAXIMUM_SIZE;
+    }
+  };
+
+  /**
+   * the texture hash pattern.
+   */
+  private static final Pattern TEXTURE_HASH = Pattern.compile("[0-9a-fA-F]{32,}");
+
+  /**
+   * the textures property name.
+   */
+  private static final String TEXTURES = "textures";
+
+  /**
+   * the textures url prefix.
+   */
+  private static final String TEXTURES_URL = "https://textures.minecraft.net/texture/";
+
+  /**
+   * ctor.
+   */
+  private SkullTextureCache() {
+  }
+
+  /**
+   * applies the given texture to the meta.
+   *
+   * @param meta the meta to apply.
+   * @param texture the texture to apply, can be username, textures.minecraft.net url or base64.
+   */
+  public static void apply(@NotNull final SkullMeta meta, @NotNull final String texture) {
+    try (final var ignored = Metrics.start(Phase.SKULL_TEXTURE)) {
+      SkullTextureCache.applyTexture(meta, texture);
+    }
+  }
+
+  /**
+   * applies a copy of the given prepared profile to the meta.
+   *
+   * @param meta the meta to apply.
+   * @param profile the profile to apply.
+   *
+   * @return {@code true} if the profile is applied.
+   *
+   * @see #prepare(String)
+   */
+  public static boolean apply(@NotNull final SkullMeta meta, @NotNull final GameProfile profile) {
+    return SkullProfileAccessor.setProfile(meta, SkullTextureCache.copy(profile));
+  }
+
+  /**
+   * clears the cache and its statistics.
+   */
+  public static void clear() {
+    synchronized (SkullTextureCache.PROFILES) {
+      SkullTextureCache.PROFILES.clear();
+    }
+    SkullTextureCache.HITS.set(0L);
+    SkullTextureCache.MISSES.set(0L);
+  }
+
+  /**
+   * obtains the hit count.
+   *
+   * @return hit count.
+   */
+  public static long getHits() {
+    return SkullTextureCache.HITS.get();
+  }
+
+  /**
+   * obtains the hit rate.
+   *
+   * @return hit rate between 0 and 1.
+   */
+  public static double getHitRate() {
+    final var hits = SkullTextureCache.HITS.get();
+    final var total = hits + SkullTextureCache.MISSES.get();
+    return total == 0L ? 0.0d : (double) hits / total;
+  }
+
+  /**
+   * obtains the miss count.
+   *
+   * @return miss count.
+   */
+  public static long getMisses() {
+    return SkullTextureCache.MISSES.get();
+  }
+
+  /**
+   * obtains the cached texture count.
+   *
+   * @return cached texture count.
+   */
+  public static int getSize() {
+    synchronized (SkullTextureCache.PROFILES) {
+      return SkullTextureCache.PROFILES.size();
+    }
+  }
+
+  /**
+   * obtains the skin value of the given meta.
+   *
+   * @param meta the meta to obtain.
+   *
+   * @return skin value of the meta.
+   */
+  @Nullable
+  public static String getSkinValue(@NotNull final SkullMeta meta) {
+    final var profile = SkullProfileAccessor.getProfile(meta);
+    if (profile == null) {
+      return SkullUtils.getSkinValue(meta);
+    }
+    final var properties = profile.getProperties().get(SkullTextureCache.TEXTURES);
+    if (properties.isEmpty()) {
+      return null;
+    }
+    return properties.iterator().next().getValue();
+  }
+
+  /**
+   * prepares the game profile of the given texture without touching the Bukkit API, so it can run on any thread.
+   * <p>
+   * the cached profile is returned if there is any, otherwise the profile of a textures.minecraft.net url, a texture
+   * hash or a base64 value is created and cached. player names cannot be prepared, they need a lookup, so they are
+   * neither looked up in the cache nor counted as misses. the returned profile is shared, it must not be modified,
+   * {@link #apply(SkullMeta, GameProfile)} applies a copy of it.
+   *
+   * @param texture the texture to prepare.
+   *
+   * @return prepared game profile or {@code null} if the texture cannot be prepared.
+   */
+  @Nullable
+  public static GameProfile prepare(@NotNull final String texture) {
+    if (SkullOwnerResolver.isName(texture)) {
+      return null;
+    }
+    synchronized (SkullTextureCache.PROFILES) {
+      final var cached = SkullTextureCache.PROFILES.get(texture);
+      if (cached != null) {
+        SkullTextureCache.HITS.incrementAndGet();
+        return cached;
+      }
+    }
+    SkullTextureCache.MISSES.incrementAndGet();
+    final var value = SkullTextureCache.toValue(texture);
+    if (value == null) {
+      return null;
+    }
+    final var profile = new GameProfile(UUID.nameUUIDFromBytes(value.getBytes(StandardCharsets.UTF_8)), null);
+    profile.getProperties().put(SkullTextureCache.TEXTURES, new Property(SkullTextureCache.TEXTURES, value));
+    synchronized (SkullTextureCache.PROFILES) {
+      final var previous = SkullTextureCache.PROFILES.putIfAbsent(texture, profile);
+      return previous == null ? profile : previous;
+    }
+  }
+
+  /**
+   * applies the given texture to the meta through the cache.
+   * <p>
+   * only the profiles that {@link #prepare(String)} creates are cached, the textures that cannot be prepared and the
+   * metas that the accessor cannot set fall back to XSeries without caching.
+   *
+   * @param meta the meta to apply.
+   * @param texture the texture to apply.
+   */
+  private static void applyTexture(@NotNull final SkullMeta meta, @NotNull final String texture) {
+    final var profile = SkullTextureCache.prepare(texture);
+    if (profile == null || !SkullTextureCache.apply(meta, profile)) {
+      SkullUtils.applySkin(meta, texture);
+    }
+  }
+
+  /**
+   * copies the given profile.
+   * <p>
+   * the server may fill or modify the profile of a skull meta after it is set, so the cached profiles are never shared
+   * with the metas.
+   *
+   * @param profile the profile to copy.
+   *
+   * @return a newly created profile that has the same id, name and properties.
+   */
+  @NotNull
+  private static GameProfile copy(@NotNull final GameProfile profile) {
+    final var copy = new GameProfile(profile.getId(), profile.getName());
+    copy.getProperties().putAll(profile.getProperties());
+    return copy;
+  }
+
+  /**
+   * converts the given texture into a base64 textures value.
+   *
+   * @param texture the texture to convert.
+   *
+   * @return textures value or {@code null} if the texture is not a url, a hash or a base64 value.
+   */
+  @Nullable
+  private static String toValue(@NotNull final String texture) {
+    final String url;
+    if (texture.startsWith("http://") || texture.startsWith("https://")) {
+      url = texture;
+    } else if (SkullTextureCache.TEXTURE_HASH.matcher(texture).matches()) {
+      url = SkullTextureCache.TEXTURES_URL + texture;
+    } else {
+      try {
+        Base64.getDecoder().decode(texture);
+        return texture;
+      } catch (final IllegalArgumentException e) {
+        return null;
+      }
+    }
+    final var json = "{\"textures\":{\"SKIN\":{\"url\":\"" + url + "\"}}}";
+    return Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
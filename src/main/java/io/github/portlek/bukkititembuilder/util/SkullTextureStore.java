@@ -0,0 +1,352 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents on-disk stores of resolved skull textures.
+ * <p>
+ * the entries expire after {@link #getTtl()} and are kept in a properties file as {@code expiry:texture}, so a restart
+ * does not resolve the same names again.
+ * <p>
+ * the puts are batched, the first put after a flush marks the store dirty and schedules a flush after
+ * {@link #getFlushDelay()}, so a burst of resolutions writes the file once. {@link #close()} flushes the pending
+ * entries immediately.
+ */
+public final class SkullTextureStore implements AutoCloseable {
+
+  /**
+   * the default flush delay.
+   */
+  public static final Duration FLUSH_DELAY = Duration.ofSeconds(30L);
+
+  /**
+   * the flusher.
+   */
+  private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final var thread = new Thread(runnable, "BukkitItemBuilder Skull Texture Store Flusher");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * the separator of the expiry and the texture.
+   */
+  private static final char SEPARATOR = ':';
+
+  /**
+   * the clock.
+   */
+  @NotNull
+  private final Clock clock;
+
+  /**
+   * the dirty.
+   */
+  private final AtomicBoolean dirty = new AtomicBoolean();
+
+  /**
+   * the entries.
+   */
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * the file.
+   */
+  @NotNull
+  @Getter
+  private final Path file;
+
+  /**
+   * the flush delay.
+   */
+  @NotNull
+  @Getter
+  private final Duration flushDelay;
+
+  /**
+   * the ttl.
+   */
+  @NotNull
+  @Getter
+  private final Duration ttl;
+
+  /**
+   * ctor.
+   *
+   * @param file the file.
+   * @param ttl the ttl.
+   * @param clock the clock.
+   * @param flushDelay the flush delay.
+   */
+  private SkullTextureStore(@NotNull final Path file, @NotNull final Duration ttl, @NotNull final Clock clock,
+                            @NotNull final Duration flushDelay) {
+    this.file = file;
+    this.ttl = ttl;
+    this.clock = clock;
+    this.flushDelay = flushDelay;
+  }
+
+  /**
+   * creates a new skull texture store and loads the entries of the file.
+   *
+   * @param file the file to create.
+   * @param ttl the ttl to create.
+   *
+   * @return a newly created skull texture store.
+   */
+  @NotNull
+  public static SkullTextureStore load(@NotNull final Path file, @NotNull final Duration ttl) {
+    return SkullTextureStore.load(file, ttl, Clock.systemUTC());
+  }
+
+  /**
+   * creates a new skull texture store and loads the entries of the file.
+   *
+   * @param file the file to create.
+   * @param ttl the ttl to create.
+   * @param clock the clock to create.
+   *
+   * @return a newly created skull texture store.
+   */
+  @NotNull
+  public static SkullTextureStore load(@NotNull final Path file, @NotNull final Duration ttl,
+                                       @NotNull final Clock clock) {
+    return SkullTextureStore.load(file, ttl, clock, SkullTextureStore.FLUSH_DELAY);
+  }
+
+  /**
+   * creates a new skull texture store and loads the entries of the file.
+   *
+   * @param file the file to create.
+   * @param ttl the ttl to create.
+   * @param clock the clock to create.
+   * @param flushDelay the flush delay to create.
+   *
+   * @return a newly created skull texture store.
+   */
+  @NotNull
+  public static SkullTextureStore load(@NotNull final Path file, @NotNull final Duration ttl,
+                                       @NotNull final Clock clock, @NotNull final Duration flushDelay) {
+    final var store = new SkullTextureStore(file, ttl, clock, flushDelay);
+    if (!Files.exists(file)) {
+      return store;
+    }
+    final var properties = new Properties();
+    try (final var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    final var now = clock.millis();
+    properties.forEach((key, value) -> {
+      final var string = value.toString();
+      final var index = string.indexOf(SkullTextureStore.SEPARATOR);
+      if (index <= 0) {
+        return;
+      }
+      final long expiry;
+      try {
+        expiry = Long.parseLong(string.substring(0, index));
+      } catch (final NumberFormatException e) {
+        return;
+      }
+      if (expiry > now) {
+        store.entries.put(key.toString(), new Entry(expiry, string.substring(index + 1)));
+      }
+    });
+    return store;
+  }
+
+  /**
+   * normalizes the given name.
+   *
+   * @param name the name to normalize.
+   *
+   * @return normalized name.
+   */
+  @NotNull
+  private static String normalize(@NotNull final String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * flushes the pending entries immediately.
+   */
+  @Override
+  public void close() {
+    this.flush();
+  }
+
+  /**
+   * saves the entries into the file if there is any put since the last flush.
+   * <p>
+   * if the save fails, the store is marked dirty again, so the next flush retries it.
+   *
+   * @return {@code true} if the entries are saved.
+   */
+  public boolean flush() {
+    if (!this.dirty.getAndSet(false)) {
+      return false;
+    }
+    try {
+      this.save();
+    } catch (final UncheckedIOException e) {
+      this.markDirty();
+      throw e;
+    }
+    return true;
+  }
+
+  /**
+   * obtains the texture of the given name.
+   *
+   * @param name the name to obtain.
+   *
+   * @return texture of the name, or empty if the name is not stored or its entry is expired.
+   */
+  @NotNull
+  public Optional<String> get(@NotNull final String name) {
+    final var key = SkullTextureStore.normalize(name);
+    final var entry = this.entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (entry.expiry <= this.clock.millis()) {
+      this.entries.remove(key, entry);
+      return Optional.empty();
+    }
+    return Optional.of(entry.texture);
+  }
+
+  /**
+   * puts the given texture of the name.
+   * <p>
+   * the entry is written into the file by the next flush.
+   *
+   * @param name the name to put.
+   * @param texture the texture to put.
+   */
+  public void put(@NotNull final String name, @NotNull final String texture) {
+    this.entries.put(SkullTextureStore.normalize(name), new Entry(this.clock.millis() + this.ttl.toMillis(), texture));
+    this.markDirty();
+  }
+
+  /**
+   * saves the entries which are not expired into the file.
+   */
+  public synchronized void save() {
+    final var properties = new Properties();
+    final var now = this.clock.millis();
+    this.entries.forEach((key, entry) -> {
+      if (entry.expiry > now) {
+        properties.setProperty(key, entry.expiry + String.valueOf(SkullTextureStore.SEPARATOR) + entry.texture);
+      }
+    });
+    try {
+      final var parent = this.file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      final var temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+      try (final var writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        properties.store(writer, null);
+      }
+      Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * flushes the store on the flusher thread.
+   * <p>
+   * a failed flush is retried after the flush delay, since {@link #flush()} marks the store dirty again.
+   */
+  private void flushQuietly() {
+    try {
+      this.flush();
+    } catch (final UncheckedIOException ignored) {
+      // the store is dirty again, so the flush is retried.
+    }
+  }
+
+  /**
+   * marks the store dirty and schedules a flush if the store was clean.
+   */
+  private void markDirty() {
+    if (this.dirty.compareAndSet(false, true)) {
+      SkullTextureStore.FLUSHER.schedule(this::flushQuietly, this.flushDelay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * a class that represents store entries.
+   */
+  private static final class Entry {
+
+    /**
+     * the expiry.
+     */
+    private final long expiry;
+
+    /**
+     * the texture.
+     */
+    @NotNull
+    private final String texture;
+
+    /**
+     * ctor.
+     *
+     * @param expiry the expiry.
+     * @param texture the texture.
+     */
+    private Entry(final long expiry, @NotNull final String texture) {
+      this.expiry = expiry;
+      this.texture = texture;
+    }
+  }
+}
@@ -28,16 +28,46 @@ package io.github.portlek.bukkititembuilder;
 import com.cryptomorin.xseries.XMaterial;
 import io.github.portlek.bukkititembuilder.color.CustomColors;
 import io.github.portlek.bukkititembuilder.color.XColor;
+import io.github.portlek.bukkititembuilder.util.BannerLayers;
+import io.github.portlek.bukkititembuilder.util.ColorUtil;
+import io.github.portlek.bukkititembuilder.util.DeduplicatingWriter;
+import io.github.portlek.bukkititembuilder.util.HashUtil;
 import io.github.portlek.bukkititembuilder.util.ItemStackUtil;
 import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import io.github.portlek.bukkititembuilder.util.MapViewRegistry;
+import io.github.portlek.bukkititembuilder.util.PotionSpec;
+import io.github.portlek.bukkititembuilder.util.SkullOwnerResolver;
+import io.github.portlek.bukkititembuilder.util.SkullTextureCache;
+import io.github.portlek.bukkititembuilder.util.SkullTextureResolver;
+import io.github.portlek.bukkititembuilder.util.SkullTextureStore;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Color;
+import org.bukkit.DyeColor;
 import org.bukkit.FireworkEffect;
 import org.bukkit.Material;
+import org.bukkit.block.banner.Pattern;
+import org.bukkit.block.banner.PatternType;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BannerMeta;
+import org.bukkit.inventory.meta.BookMeta;
+import org.bukkit.inventory.meta.CrossbowMeta;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.map.MapView;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -57,6 +87,108 @@ final class Test1_16R3 extends Spigot_1_16R3 {
     Spigot_1_16R3.stopServer();
   }
 
+  @Test
+  void bannerLayers() {
+    final var itemStack = new ItemStack(Material.WHITE_BANNER);
+    final var serialized = new HashMap<String, Object>();
+    ItemStackUtil.serialize(
+      BannerItemBuilder.from((BannerMeta) itemStack.getItemMeta(), itemStack)
+        .addPatterns(
+          new Pattern(DyeColor.RED, PatternType.STRIPE_TOP),
+          new Pattern(DyeColor.BLUE, PatternType.BORDER),
+          new Pattern(DyeColor.BLACK, PatternType.STRIPE_TOP)),
+      KeyUtil.Holder.map(serialized));
+    new Assertion<>(
+      "Couldn't serialize the banner layers!",
+      serialized.get("patterns"),
+      new IsEqual<>(List.of("ts:red", "bo:blue", "ts:black"))
+    ).affirm();
+    final var first = BannerItemBuilder.from(KeyUtil.Holder.map(serialized)).getItemMeta().getPatterns();
+    new Assertion<>(
+      "Couldn't deserialize the banner layers!",
+      first,
+      new IsEqual<>(List.of(
+        new Pattern(DyeColor.RED, PatternType.STRIPE_TOP),
+        new Pattern(DyeColor.BLUE, PatternType.BORDER),
+        new Pattern(DyeColor.BLACK, PatternType.STRIPE_TOP)))
+    ).affirm();
+    new Assertion<>(
+      "Couldn't cache the banner layers!",
+      BannerLayers.parse(List.of("ts:red", "bo:blue", "ts:black")) ==
+        BannerLayers.parse(List.of("ts:red", "bo:blue", "ts:black")),
+      new IsTrue()
+    ).affirm();
+    new Assertion<>(
+      "Couldn't deserialize the legacy banner layers!",
+      BannerItemBuilder.from(KeyUtil.Holder.map(Map.of(
+        "material", "WHITE_BANNER",
+        "patterns", Map.of("STRIPE_TOP", "RED")))).getItemMeta().getPatterns(),
+      new IsEqual<>(List.of(new Pattern(DyeColor.RED, PatternType.STRIPE_TOP)))
+    ).affirm();
+  }
+
+  @Test
+  void bookPaging() {
+    final var itemStack = new ItemStack(Material.WRITTEN_BOOK);
+    final var builder = BookItemBuilder.from((BookMeta) itemStack.getItemMeta(), itemStack)
+      .setPages(10, index -> "&aPage " + index, true)
+      .setPage(3, "&bEdited", true);
+    new Assertion<>(
+      "Couldn't view the page range!",
+      builder.getPages(2, 3),
+      new IsEqual<>(List.of(ChatColor.GREEN + "Page 1", ChatColor.AQUA + "Edited"))
+    ).affirm();
+    final var chunks = new ArrayList<Integer>();
+    builder.serializePages(4, pages -> chunks.add(pages.size()));
+    new Assertion<>(
+      "Couldn't serialize the pages in chunks!",
+      chunks,
+      new IsEqual<>(List.of(4, 4, 2))
+    ).affirm();
+    final var holder = KeyUtil.Holder.map(new HashMap<>());
+    builder.serialize(holder);
+    new Assertion<>(
+      "Couldn't deserialize the serialized pages!",
+      BookItemBuilder.from(holder).getPages(1, 10),
+      new IsEqual<>(builder.getPages(1, 10))
+    ).affirm();
+  }
+
+  @Test
+  void colorFormat() {
+    final var color = Color.fromRGB(18, 52, 86);
+    new Assertion<>(
+      "Couldn't serialize the color as hex!",
+      ColorUtil.serialize(color, ColorUtil.Format.HEX),
+      new IsEqual<>("#123456")
+    ).affirm();
+    new Assertion<>(
+      "Couldn't parse the colors!",
+      List.of(ColorUtil.parse("18, 52, 86"), ColorUtil.parse("#123456"), ColorUtil.parse(0x123456)),
+      new IsEqual<>(List.of(Optional.of(color), Optional.of(color), Optional.of(color)))
+    ).affirm();
+    ColorUtil.setFormat(ColorUtil.Format.PACKED);
+    try {
+      final var itemStack = new ItemStack(Material.LEATHER_CHESTPLATE);
+      final var serialized = new HashMap<String, Object>();
+      ItemStackUtil.serialize(
+        LeatherArmorItemBuilder.from((LeatherArmorMeta) itemStack.getItemMeta(), itemStack).setColor(color),
+        KeyUtil.Holder.map(serialized));
+      new Assertion<>(
+        "Couldn't serialize the packed color!",
+        serialized.get("color"),
+        new IsEqual<>(0x123456)
+      ).affirm();
+      new Assertion<>(
+        "Couldn't deserialize the packed color!",
+        LeatherArmorItemBuilder.from(KeyUtil.Holder.map(serialized)).getItemMeta().getColor(),
+        new IsEqual<>(color)
+      ).affirm();
+    } finally {
+      ColorUtil.setFormat(ColorUtil.Format.LEGACY);
+    }
+  }
+
   @Test
   void colorUtil() {
     CustomColors.registerAll();
@@ -78,6 +210,130 @@ final class Test1_16R3 extends Spigot_1_16R3 {
     ).affirm();
   }
 
+  @Test
+  void crossbowProjectiles() {
+    final var itemStack = new ItemStack(Material.CROSSBOW);
+    final var arrow = new ItemStack(Material.ARROW);
+    final var serialized = new HashMap<String, Object>();
+    ItemStackUtil.serialize(
+      CrossbowItemBuilder.from((CrossbowMeta) itemStack.getItemMeta(), itemStack)
+        .addChargedProjectile(arrow, arrow, new ItemStack(Material.SPECTRAL_ARROW)),
+      KeyUtil.Holder.map(serialized));
+    new Assertion<>(
+      "Couldn't reference the identical projectile!",
+      ((Map<?, ?>) serialized.get("projectiles")).get("1"),
+      new IsEqual<>(Map.of("ref", 0))
+    ).affirm();
+    new Assertion<>(
+      "Couldn't deserialize the projectiles!",
+      CrossbowItemBuilder.from(KeyUtil.Holder.map(serialized)).getItemMeta().getChargedProjectiles(),
+      new IsEqual<>(List.of(arrow, arrow, new ItemStack(Material.SPECTRAL_ARROW)))
+    ).affirm();
+  }
+
+  @Test
+  void deduplicatingWriter() {
+    final var writer = new DeduplicatingWriter();
+    final var first = writer.write(ItemStackBuilder.from(Material.DIAMOND)
+      .setName("&aTest")
+      .addLore("&aFirst", "&aSecond")
+      .getItemStack());
+    final var second = writer.write(ItemStackBuilder.from(Material.DIAMOND)
+      .setName("&aTest")
+      .addLore("&aFirst", "&aSecond")
+      .getItemStack());
+    final var third = writer.write(new ItemStack(Material.STONE, 2));
+    new Assertion<>(
+      "Identical items have different hashes!",
+      first,
+      new IsEqual<>(second)
+    ).affirm();
+    new Assertion<>(
+      "Couldn't deduplicate the items!",
+      writer.getItems().size(),
+      new IsEqual<>(2)
+    ).affirm();
+    final var serialized = new HashMap<String, Object>();
+    writer.writeTo(KeyUtil.Holder.map(serialized));
+    new Assertion<>(
+      "Couldn't read the deduplicated items!",
+      DeduplicatingWriter.read(KeyUtil.Holder.map(serialized)).get(third),
+      new IsEqual<>(new ItemStack(Material.STONE, 2))
+    ).affirm();
+    new Assertion<>(
+      "The hash depends on the key order!",
+      HashUtil.hash(Map.of("material", "STONE", "amount", 2, "flags", List.of("HIDE_ENCHANTS", "HIDE_UNBREAKABLE"))),
+      new IsEqual<>(HashUtil.hash(new TreeMap<>(Map.of("flags", List.of("HIDE_UNBREAKABLE", "HIDE_ENCHANTS"),
+        "amount", 2L, "material", "STONE"))))
+    ).affirm();
+  }
+
+  @Test
+  void delta() {
+    final var base = ItemStackBuilder.from(Material.DIAMOND_SWORD)
+      .setName("&aTest")
+      .addLore("&aFirst", "&aSecond");
+    final var current = ItemStackBuilder.from(Material.DIAMOND_SWORD)
+      .setName("&aTest")
+      .setAmount(5);
+    final var delta = new HashMap<String, Object>();
+    ItemStackUtil.serialize(current, base, KeyUtil.Holder.map(delta));
+    new Assertion<>(
+      "Couldn't serialize the delta!",
+      delta,
+      new IsEqual<>(Map.of(
+        "amount", 5,
+        "removed", List.of("lore")))
+    ).affirm();
+    new Assertion<>(
+      "Couldn't deserialize the delta!",
+      ItemStackUtil.deserialize(base, delta).orElseThrow().isSimilar(current.getItemStack()),
+      new IsTrue()
+    ).affirm();
+  }
+
+  @Test
+  void fireworkEffectPool() {
+    final var holder = KeyUtil.Holder.map(Map.of(
+      "material", "FIREWORK_ROCKET",
+      "firework", Map.of(
+        "0", Map.of(
+          "type", "BALL",
+          "colors", Map.of(
+            "base", List.of("255, 0, 0"),
+            "fade", List.of("0, 0, 255"))),
+        "1", Map.of(
+          "type", "STAR",
+          "trail", true,
+          "colors", Map.of(
+            "base", List.of("0, 255, 0"))))));
+    final var first = FireworkItemBuilder.from(holder).getItemMeta().getEffects();
+    final var second = FireworkItemBuilder.from(holder).getItemMeta().getEffects();
+    final var ball = first.stream()
+      .filter(effect -> effect.getType() == FireworkEffect.Type.BALL)
+      .findFirst()
+      .orElseThrow();
+    final var star = first.stream()
+      .filter(effect -> effect.getType() == FireworkEffect.Type.STAR)
+      .findFirst()
+      .orElseThrow();
+    new Assertion<>(
+      "Couldn't deserialize the fade colors!",
+      ball.getFadeColors(),
+      new IsEqual<>(List.of(Color.fromRGB(0, 0, 255)))
+    ).affirm();
+    new Assertion<>(
+      "Leaked the colors between the effects!",
+      star.getColors().equals(List.of(Color.fromRGB(0, 255, 0))) && star.getFadeColors().isEmpty(),
+      new IsTrue()
+    ).affirm();
+    new Assertion<>(
+      "Couldn't intern the firework effects!",
+      second.stream().allMatch(effect -> effect == ball || effect == star),
+      new IsTrue()
+    ).affirm();
+  }
+
   @Test
   void itemStackUtil() {
     final var expected = new ItemStack(Material.WOODEN_SWORD, 10);
@@ -153,4 +409,148 @@ final class Test1_16R3 extends Spigot_1_16R3 {
       new IsEqual<>(expectedFireworkMap)
     ).affirm();
   }
+
+  @Test
+  void mapViewRegistry() {
+    MapViewRegistry.clear();
+    final var holder = KeyUtil.Holder.map(Map.of(
+      "material", "FILLED_MAP",
+      "map", Map.of(
+        "view", Map.of(
+          "world", Bukkit.getWorlds().get(0).getName(),
+          "scale", "FAR",
+          "center", Map.of("x", 128, "z", -64)))));
+    final var first = MapItemBuilder.from(holder).getItemMeta().getMapView();
+    final var second = MapItemBuilder.from(holder).getItemMeta().getMapView();
+    new Assertion<>(
+      "Couldn't reuse the map view!",
+      first != null && second != null && first.getId() == second.getId(),
+      new IsTrue()
+    ).affirm();
+    final var serialized = new HashMap<String, Object>();
+    ItemStackUtil.serialize(MapItemBuilder.from(holder), KeyUtil.Holder.map(serialized));
+    MapItemBuilder.from(KeyUtil.Holder.map(serialized));
+    new Assertion<>(
+      "Couldn't count the created and reused map views!",
+      List.of(MapViewRegistry.getCreated(), MapViewRegistry.getReused()),
+      new IsEqual<>(List.of(1L, 3L))
+    ).affirm();
+  }
+
+  @Test
+  void mapViewRegistryKeepsMapId() {
+    MapViewRegistry.clear();
+    final var world = Bukkit.getWorlds().get(0);
+    final var existing = Bukkit.createMap(world);
+    final var settings = List.of(existing.getScale(), existing.getCenterX(), existing.getCenterZ());
+    final var holder = KeyUtil.Holder.map(Map.of(
+      "material", "FILLED_MAP",
+      "map", Map.of(
+        "map-id", existing.getId(),
+        "view", Map.of(
+          "world", world.getName(),
+          "scale", "FAR",
+          "center", Map.of("x", 512, "z", -256)))));
+    final var view = MapItemBuilder.from(holder).getItemMeta().getMapView();
+    new Assertion<>(
+      "Couldn't keep the existing map id!",
+      view != null && view.getId() == existing.getId(),
+      new IsTrue()
+    ).affirm();
+    new Assertion<>(
+      "Couldn't keep the existing map view untouched!",
+      List.of(existing.getScale(), existing.getCenterX(), existing.getCenterZ()),
+      new IsEqual<>(settings)
+    ).affirm();
+    MapViewRegistry.obtain(existing.getId(), world, MapView.Scale.FAR, 512, -256, false, false, false, true);
+    new Assertion<>(
+      "Couldn't update the existing map view in place!",
+      List.of(existing.getScale(), existing.getCenterX(), existing.getCenterZ()),
+      new IsEqual<>(List.of(MapView.Scale.FAR, 512, -256))
+    ).affirm();
+    new Assertion<>(
+      "Couldn't count the created and reused map views!",
+      List.of(MapViewRegistry.getCreated(), MapViewRegistry.getReused()),
+      new IsEqual<>(List.of(0L, 2L))
+    ).affirm();
+    MapViewRegistry.clear(world);
+    MapViewRegistry.obtain(null, world, MapView.Scale.FAR, 512, -256, false, false, false);
+    new Assertion<>(
+      "Couldn't drop the map views of the world!",
+      MapViewRegistry.getCreated(),
+      new IsEqual<>(1L)
+    ).affirm();
+  }
+
+  @Test
+  void potionSpec() {
+    final var first = PotionSpec.parse("SPEED, true, false", List.of("POISON, 200, 1"));
+    final var second = PotionSpec.parse("SPEED, true, false", List.of("POISON, 200, 1"));
+    new Assertion<>(
+      "Couldn't share the parsed potion effects!",
+      first.getCustomEffects().get(0) == second.getCustomEffects().get(0) &&
+        first.getBaseData() == second.getBaseData(),
+      new IsTrue()
+    ).affirm();
+    final var itemStack = new ItemStack(Material.POTION);
+    final var serialized = new HashMap<String, Object>();
+    ItemStackUtil.serialize(
+      PotionItemBuilder.from((PotionMeta) itemStack.getItemMeta(), itemStack).applySpec(first, true),
+      KeyUtil.Holder.map(serialized));
+    new Assertion<>(
+      "Couldn't serialize the potion spec!",
+      List.of(serialized.get("base-effect"), serialized.get("custom-effects")),
+      new IsEqual<>(List.of("SPEED, true, false", List.of("POISON, 200, 1")))
+    ).affirm();
+    final var effect = first.getCustomEffects().get(0);
+    new Assertion<>(
+      "Couldn't parse the serialized potion effect back!",
+      PotionSpec.effect(PotionSpec.serialize(effect)).orElseThrow(),
+      new IsEqual<>(effect)
+    ).affirm();
+  }
+
+  @Test
+  void skullOwnerResolver() throws Exception {
+    final var texture = "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1" +
+      "cmUvNGY0ZTNjMWIyYThkN2U2ZjVhOWIwYzFkMmUzZjRhNWI2YzdkOGU5ZjBhMWIyYzNkNGU1ZjZhN2I4YzlkMGUxZiJ9fX0=";
+    final var file = Files.createTempDirectory("skulls").resolve("skulls.properties");
+    final var calls = new AtomicInteger();
+    final SkullTextureResolver stub = name -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture(Optional.of(texture));
+    };
+    final var resolver = SkullOwnerResolver.create(stub, SkullTextureStore.load(file, Duration.ofDays(1L)), null,
+      Runnable::run);
+    final var itemStack = XMaterial.PLAYER_HEAD.parseItem();
+    final var resolved = new AtomicReference<SkullItemBuilder>();
+    SkullItemBuilder.from((SkullMeta) itemStack.getItemMeta(), itemStack)
+      .setOwner("Portlek", resolver, resolved::set);
+    new Assertion<>(
+      "Couldn't resolve the skull owner!",
+      SkullTextureCache.getSkinValue(resolved.get().getItemMeta()),
+      new IsEqual<>(texture)
+    ).affirm();
+    resolver.getStore().close();
+    final var reloaded = SkullOwnerResolver.create(stub, SkullTextureStore.load(file, Duration.ofDays(1L)), null,
+      Runnable::run);
+    new Assertion<>(
+      "Couldn't load the stored skull texture!",
+      reloaded.resolve("portlek").get(),
+      new IsEqual<>(Optional.of(texture))
+    ).affirm();
+    new Assertion<>(
+      "Resolved the stored skull texture again!",
+      calls.get(),
+      new IsEqual<>(1)
+    ).affirm();
+    final var expired = SkullOwnerResolver.create(stub, SkullTextureStore.load(file, Duration.ofDays(1L),
+      Clock.offset(Clock.systemUTC(), Duration.ofDays(2L))), null, Runnable::run);
+    expired.resolve("Portlek").get();
+    new Assertion<>(
+      "Couldn't expire the stored skull texture!",
+      calls.get(),
+      new IsEqual<>(2)
+    ).affirm();
+  }
 }
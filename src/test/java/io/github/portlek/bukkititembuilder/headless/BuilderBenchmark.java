@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.headless;
+
+import com.cryptomorin.xseries.XMaterial;
+import io.github.portlek.bukkititembuilder.Builder;
+import io.github.portlek.bukkititembuilder.ItemStackBuilder;
+import io.github.portlek.bukkititembuilder.util.ItemStackUtil;
+import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Color;
+import org.bukkit.DyeColor;
+import org.bukkit.FireworkEffect;
+import org.bukkit.block.banner.Pattern;
+import org.bukkit.block.banner.PatternType;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionData;
+import org.bukkit.potion.PotionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * benchmarks of the build, serialize and deserialize pipeline of every builder type on {@link HeadlessBukkit}.
+ * <p>
+ * run the main method on the test classpath of the {@code headless} profile, the gc profiler reports the allocated
+ * bytes per operation as {@code gc.alloc.rate.norm}. the build benchmark builds every fixture through its type's
+ * builder with the type's own setters. the skull fixture has no texture since the stand-in has no
+ * craftbukkit profile to inject. the holder get benchmark measures a single sampled holder lookup, including the
+ * volatile read of the installed metrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BuilderBenchmark {
+
+  private static final List<String> PAGES = List.of("&l1. &rBe nice.", "&l2. &rNo griefing.", "&l3. &rHave fun.");
+
+  @Param({
+    "banner", "book", "crossbow", "firework", "leather-armor", "map", "plain", "potion", "skull", "spawn-egg"
+  })
+  public String fixture;
+
+  private Builder<?, ?> builder;
+
+  private Map<String, Object> serialized;
+
+  public static void main(final String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+      .include(BuilderBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build())
+      .run();
+  }
+
+  private static Builder<?, ?> build(final String name, final ItemStackBuilder builder) {
+    switch (name) {
+      case "banner":
+        return builder.asBanner()
+          .addPatterns(
+            new Pattern(DyeColor.RED, PatternType.STRIPE_TOP),
+            new Pattern(DyeColor.RED, PatternType.STRIPE_BOTTOM),
+            new Pattern(DyeColor.BLACK, PatternType.BORDER),
+            new Pattern(DyeColor.WHITE, PatternType.CROSS));
+      case "book":
+        return builder.asBook()
+          .setTitle("Rules")
+          .setAuthor("Server")
+          .setPages(BuilderBenchmark.PAGES.size(), BuilderBenchmark.PAGES::get, true);
+      case "crossbow":
+        final var arrow = XMaterial.ARROW.parseItem();
+        return builder.asCrossbow()
+          .setChargedProjectiles(arrow, arrow, arrow);
+      case "firework":
+        return builder.asFirework()
+          .setPower(2)
+          .addEffects(
+            FireworkEffect.builder()
+              .with(FireworkEffect.Type.BALL_LARGE)
+              .flicker(true)
+              .withColor(Color.fromRGB(255, 0, 0), Color.fromRGB(255, 255, 0))
+              .withFade(Color.fromRGB(255, 255, 255))
+              .build(),
+            FireworkEffect.builder()
+              .with(FireworkEffect.Type.STAR)
+              .trail(true)
+              .withColor(Color.fromRGB(0, 0, 255))
+              .build());
+      case "leather-armor":
+        return builder.asLeatherArmor()
+          .setColor(Color.fromRGB(160, 101, 64));
+      case "map":
+        return builder.asMap()
+          .setScaling(true)
+          .setLocationName("Spawn")
+          .setColor(Color.fromRGB(0, 128, 255));
+      case "potion":
+        return builder.asPotion()
+          .setBasePotionData(new PotionData(PotionType.SPEED, true, false))
+          .setColor(0x7CAFC6);
+      case "skull":
+        return builder.asSkull();
+      case "spawn-egg":
+        return builder.asSpawnEgg()
+          .setSpawnedType(EntityType.ZOMBIE);
+      default:
+        return builder.setAmount(1);
+    }
+  }
+
+  private static Map<String, Object> fixture(final String name) {
+    final var fixture = new HashMap<String, Object>();
+    fixture.put("name", "&6&lKit &7» &e" + name);
+    fixture.put("lore", List.of("&7A fixture of the", "&7" + name + " builder.", "", "&aClick to claim!"));
+    fixture.put("enchants", Map.of("DURABILITY", 3));
+    fixture.put("flags", List.of("HIDE_ENCHANTS", "HIDE_ATTRIBUTES"));
+    switch (name) {
+      case "banner":
+        fixture.put("material", "WHITE_BANNER");
+        fixture.put("patterns", List.of("ts:red", "bs:red", "bo:black", "cr:white"));
+        break;
+      case "book":
+        fixture.put("material", "WRITTEN_BOOK");
+        fixture.put("book", Map.of(
+          "title", "Rules",
+          "author", "Server",
+          "pages", BuilderBenchmark.PAGES));
+        break;
+      case "crossbow":
+        fixture.put("material", "CROSSBOW");
+        fixture.put("projectiles", Map.of(
+          "0", Map.of("material", "ARROW"),
+          "1", Map.of("ref", 0),
+          "2", Map.of("ref", 0)));
+        break;
+      case "firework":
+        fixture.put("material", "FIREWORK_ROCKET");
+        fixture.put("power", 2);
+        fixture.put("firework", Map.of(
+          "0", Map.of(
+            "type", "BALL_LARGE",
+            "flicker", true,
+            "colors", Map.of(
+              "base", List.of("255, 0, 0", "255, 255, 0"),
+              "fade", List.of("255, 255, 255"))),
+          "1", Map.of(
+            "type", "STAR",
+            "trail", true,
+            "colors", Map.of(
+              "base", List.of("0, 0, 255")))));
+        break;
+      case "leather-armor":
+        fixture.put("material", "LEATHER_CHESTPLATE");
+        fixture.put("color", "160, 101, 64");
+        break;
+      case "map":
+        fixture.put("material", "FILLED_MAP");
+        fixture.put("map", Map.of(
+          "scaling", true,
+          "location", "Spawn",
+          "color", "0, 128, 255"));
+        break;
+      case "potion":
+        fixture.put("material", "POTION");
+        fixture.put("base-effect", "SPEED, true, false");
+        fixture.put("color", 0x7CAFC6);
+        break;
+      case "skull":
+        fixture.put("material", "PLAYER_HEAD");
+        break;
+      case "spawn-egg":
+        fixture.put("material", "ZOMBIE_SPAWN_EGG");
+        fixture.put("creature", "ZOMBIE");
+        break;
+      default:
+        fixture.put("material", "DIAMOND_SWORD");
+        fixture.put("amount", 1);
+        break;
+    }
+    return fixture;
+  }
+
+  @Benchmark
+  public ItemStack build() {
+    final var material = XMaterial.matchXMaterial(String.valueOf(this.serialized.get("material")))
+      .orElseThrow();
+    return BuilderBenchmark.build(this.fixture, ItemStackBuilder.from(material))
+      .setName("&6&lKit &7» &e" + this.fixture)
+      .addLore("&7A fixture of the", "&7" + this.fixture + " builder.", "", "&aClick to claim!")
+      .addEnchantments("DURABILITY:3")
+      .addFlag(ItemFlag.HIDE_ENCHANTS, ItemFlag.HIDE_ATTRIBUTES)
+      .getItemStack();
+  }
+
+  @Benchmark
+  public Optional<ItemStack> deserialize() {
+    return ItemStackUtil.deserialize(KeyUtil.Holder.map(this.serialized));
+  }
+
+  @Benchmark
+  public Optional<String> holderGet() {
+    return KeyUtil.Holder.map(this.serialized).get("material", String.class);
+  }
+
+  @Benchmark
+  public Optional<ItemStack> roundTrip() {
+    final var itemStack = ItemStackUtil.deserialize(KeyUtil.Holder.map(this.serialized)).orElseThrow();
+    final var serialized = new HashMap<String, Object>();
+    ItemStackUtil.serialize(ItemStackBuilder.from(itemStack), KeyUtil.Holder.map(serialized));
+    return ItemStackUtil.deserialize(KeyUtil.Holder.map(serialized));
+  }
+
+  @Benchmark
+  public Map<String, Object> serialize() {
+    final var serialized = new HashMap<String, Object>();
+    ItemStackUtil.serialize(this.builder, KeyUtil.Holder.map(serialized));
+    return serialized;
+  }
+
+  @Setup
+  public void setup() {
+    HeadlessBukkit.install();
+    final var fixture = BuilderBenchmark.fixture(this.fixture);
+    this.builder = ItemStackBuilder.from(ItemStackUtil.deserialize(KeyUtil.Holder.map(fixture)).orElseThrow());
+    this.serialized = new HashMap<>();
+    ItemStackUtil.serialize(this.builder, KeyUtil.Holder.map(this.serialized));
+  }
+}
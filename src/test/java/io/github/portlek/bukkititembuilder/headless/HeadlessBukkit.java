@@ -0,0 +1,484 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.headless;
+
+import io.github.portlek.bukkititembuilder.Builder;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Color;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.enchantments.EnchantmentTarget;
+import org.bukkit.enchantments.EnchantmentWrapper;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BannerMeta;
+import org.bukkit.inventory.meta.BookMeta;
+import org.bukkit.inventory.meta.CrossbowMeta;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.bukkit.inventory.meta.FireworkMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+import org.bukkit.inventory.meta.MapMeta;
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.inventory.meta.Repairable;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.inventory.meta.SpawnEggMeta;
+import org.bukkit.potion.PotionData;
+import org.bukkit.potion.PotionType;
+
+/**
+ * an in-process stand-in of a 1.16.5 server that lets the builders run without booting craftbukkit.
+ * <p>
+ * the server, the item factory and the item metas are proxies, the metas keep their properties in a map.
+ */
+public final class HeadlessBukkit {
+
+  public static final String MINECRAFT_VERSION = "1.16.5";
+
+  private static final Color DEFAULT_LEATHER_COLOR = Color.fromRGB(0xA06540);
+
+  private static final Logger LOGGER = Logger.getLogger("Headless");
+
+  private HeadlessBukkit() {
+  }
+
+  public static synchronized void install() {
+    if (Bukkit.getServer() != null) {
+      return;
+    }
+    System.setProperty(Builder.VERSION_PROPERTY, HeadlessBukkit.MINECRAFT_VERSION.split("\\.")[1]);
+    HeadlessBukkit.registerEnchantments();
+    final var itemFactory = HeadlessBukkit.proxy(ItemFactory.class, HeadlessBukkit::invokeItemFactory);
+    Bukkit.setServer(HeadlessBukkit.proxy(Server.class, (proxy, method, args) ->
+      HeadlessBukkit.invokeServer(itemFactory, proxy, method, args)));
+  }
+
+  private static Object defaultValue(final Class<?> type) {
+    if (type == boolean.class) {
+      return false;
+    }
+    if (type == int.class || type == short.class || type == byte.class) {
+      return type == int.class ? 0 : type == short.class ? (short) 0 : (byte) 0;
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    if (type == double.class || type == float.class) {
+      return type == double.class ? 0.0d : 0.0f;
+    }
+    if (type == char.class) {
+      return '\0';
+    }
+    if (type == List.class || type == Collection.class) {
+      return new ArrayList<>();
+    }
+    if (type == Set.class) {
+      return new LinkedHashSet<>();
+    }
+    if (type == Map.class) {
+      return new LinkedHashMap<>();
+    }
+    if (type == PotionData.class) {
+      return new PotionData(PotionType.UNCRAFTABLE);
+    }
+    if (type == Color.class) {
+      return HeadlessBukkit.DEFAULT_LEATHER_COLOR;
+    }
+    return null;
+  }
+
+  private static Object invokeItemFactory(final Object proxy, final Method method, final Object[] args) {
+    switch (method.getName()) {
+      case "getItemMeta":
+        return HeadlessMeta.create((Material) args[0], new HashMap<>());
+      case "isApplicable":
+        return true;
+      case "equals":
+        if (args.length == 1) {
+          return proxy == args[0];
+        }
+        return HeadlessMeta.normalize((ItemMeta) args[0]).equals(HeadlessMeta.normalize((ItemMeta) args[1]));
+      case "asMetaFor":
+        if (args[0] == null) {
+          return null;
+        }
+        final var material = args[1] instanceof ItemStack ? ((ItemStack) args[1]).getType() : (Material) args[1];
+        return HeadlessMeta.create(material, HeadlessMeta.copy(HeadlessMeta.properties((ItemMeta) args[0])));
+      case "updateMaterial":
+        return ((ItemStack) args[1]).getType();
+      case "getDefaultLeatherColor":
+        return HeadlessBukkit.DEFAULT_LEATHER_COLOR;
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return "HeadlessItemFactory";
+      default:
+        return HeadlessBukkit.defaultValue(method.getReturnType());
+    }
+  }
+
+  private static Object invokeServer(final ItemFactory itemFactory, final Object proxy, final Method method,
+                                     final Object[] args) {
+    switch (method.getName()) {
+      case "getName":
+        return "Headless";
+      case "getVersion":
+        return "git-Headless (MC: " + HeadlessBukkit.MINECRAFT_VERSION + ")";
+      case "getBukkitVersion":
+        return HeadlessBukkit.MINECRAFT_VERSION + "-R0.1-SNAPSHOT";
+      case "getLogger":
+        return HeadlessBukkit.LOGGER;
+      case "getItemFactory":
+        return itemFactory;
+      case "isPrimaryThread":
+        return true;
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return "HeadlessServer";
+      default:
+        return HeadlessBukkit.defaultValue(method.getReturnType());
+    }
+  }
+
+  private static <T> T proxy(final Class<T> cls, final InvocationHandler handler) {
+    return cls.cast(Proxy.newProxyInstance(HeadlessBukkit.class.getClassLoader(), new Class<?>[]{cls}, handler));
+  }
+
+  private static void registerEnchantments() {
+    for (final var field : Enchantment.class.getFields()) {
+      if (!Modifier.isStatic(field.getModifiers()) || field.getType() != Enchantment.class) {
+        continue;
+      }
+      final Enchantment wrapper;
+      try {
+        wrapper = (Enchantment) field.get(null);
+      } catch (final IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+      if (wrapper instanceof EnchantmentWrapper && Enchantment.getByKey(wrapper.getKey()) == null) {
+        Enchantment.registerEnchantment(new HeadlessEnchantment(wrapper.getKey(), field.getName()));
+      }
+    }
+  }
+
+  private static final class HeadlessEnchantment extends Enchantment {
+
+    private final String name;
+
+    private HeadlessEnchantment(final NamespacedKey key, final String name) {
+      super(key);
+      this.name = name;
+    }
+
+    @Override
+    public boolean canEnchantItem(final ItemStack item) {
+      return true;
+    }
+
+    @Override
+    public boolean conflictsWith(final Enchantment other) {
+      return false;
+    }
+
+    @Override
+    public EnchantmentTarget getItemTarget() {
+      return EnchantmentTarget.BREAKABLE;
+    }
+
+    @Override
+    public int getMaxLevel() {
+      return 5;
+    }
+
+    @Override
+    public String getName() {
+      return this.name;
+    }
+
+    @Override
+    public int getStartLevel() {
+      return 1;
+    }
+
+    @Override
+    public boolean isCursed() {
+      return false;
+    }
+
+    @Override
+    public boolean isTreasure() {
+      return false;
+    }
+  }
+
+  private static final class HeadlessMeta implements InvocationHandler {
+
+    private final Material material;
+
+    private final Map<String, Object> properties;
+
+    private HeadlessMeta(final Material material, final Map<String, Object> properties) {
+      this.material = material;
+      this.properties = properties;
+    }
+
+    private static Map<String, Object> copy(final Map<String, Object> properties) {
+      final var copy = new HashMap<String, Object>();
+      properties.forEach((key, value) -> copy.put(key, HeadlessMeta.copyValue(value)));
+      return copy;
+    }
+
+    private static Object copyValue(final Object value) {
+      if (value instanceof List<?>) {
+        return new ArrayList<>((List<?>) value);
+      }
+      if (value instanceof Set<?>) {
+        return new LinkedHashSet<>((Set<?>) value);
+      }
+      if (value instanceof Map<?, ?>) {
+        return new LinkedHashMap<>((Map<?, ?>) value);
+      }
+      return value;
+    }
+
+    private static ItemMeta create(final Material material, final Map<String, Object> properties) {
+      if (material == Material.AIR) {
+        return null;
+      }
+      final var interfaces = new ArrayList<Class<?>>(List.of(ItemMeta.class, Damageable.class, Repairable.class));
+      final var name = material.name();
+      if (name.endsWith("_BANNER")) {
+        interfaces.add(BannerMeta.class);
+      } else if (name.endsWith("_SPAWN_EGG")) {
+        interfaces.add(SpawnEggMeta.class);
+      } else if (name.startsWith("LEATHER_")) {
+        interfaces.add(LeatherArmorMeta.class);
+      } else if (name.endsWith("POTION") || material == Material.TIPPED_ARROW) {
+        interfaces.add(PotionMeta.class);
+      } else if (material == Material.PLAYER_HEAD || material == Material.PLAYER_WALL_HEAD) {
+        interfaces.add(SkullMeta.class);
+      } else if (material == Material.FIREWORK_ROCKET) {
+        interfaces.add(FireworkMeta.class);
+      } else if (material == Material.WRITTEN_BOOK || material == Material.WRITABLE_BOOK) {
+        interfaces.add(BookMeta.class);
+      } else if (material == Material.CROSSBOW) {
+        interfaces.add(CrossbowMeta.class);
+      } else if (material == Material.FILLED_MAP) {
+        interfaces.add(MapMeta.class);
+      } else if (material == Material.ENCHANTED_BOOK) {
+        interfaces.add(EnchantmentStorageMeta.class);
+      }
+      return (ItemMeta) Proxy.newProxyInstance(HeadlessBukkit.class.getClassLoader(),
+        interfaces.toArray(Class<?>[]::new), new HeadlessMeta(material, properties));
+    }
+
+    private static String decapitalize(final String name) {
+      return name.isEmpty() ? name : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Map<String, Object> normalize(final ItemMeta meta) {
+      final var normalized = new HashMap<String, Object>();
+      if (meta == null) {
+        return normalized;
+      }
+      HeadlessMeta.properties(meta).forEach((key, value) -> {
+        if (value == null ||
+          value instanceof Collection<?> && ((Collection<?>) value).isEmpty() ||
+          value instanceof Map<?, ?> && ((Map<?, ?>) value).isEmpty()) {
+          return;
+        }
+        normalized.put(key, value);
+      });
+      return normalized;
+    }
+
+    private static String plural(final String name) {
+      final var property = HeadlessMeta.decapitalize(name);
+      return property.endsWith("s") ? property : property + "s";
+    }
+
+    private static Map<String, Object> properties(final ItemMeta meta) {
+      return ((HeadlessMeta) Proxy.getInvocationHandler(meta)).properties;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+      final var name = method.getName();
+      final var arguments = args == null ? new Object[0] : args;
+      switch (name) {
+        case "equals":
+          return arguments[0] instanceof ItemMeta && Proxy.isProxyClass(arguments[0].getClass()) &&
+            HeadlessMeta.normalize((ItemMeta) proxy).equals(HeadlessMeta.normalize((ItemMeta) arguments[0]));
+        case "hashCode":
+          return HeadlessMeta.normalize((ItemMeta) proxy).hashCode();
+        case "toString":
+          return "HeadlessMeta{" + this.material + ", " + this.properties + "}";
+        case "clone":
+          return HeadlessMeta.create(this.material, HeadlessMeta.copy(this.properties));
+        case "serialize":
+          return HeadlessMeta.copy(this.properties);
+        case "getPage":
+          return this.list("pages").get((int) arguments[0] - 1);
+        case "setPage":
+          this.list("pages").set((int) arguments[0] - 1, arguments[1]);
+          return null;
+        case "getPageCount":
+          return this.list("pages").size();
+        case "numberOfPatterns":
+          return this.list("patterns").size();
+        case "getEffectsSize":
+          return this.list("effects").size();
+        case "hasItemFlag":
+          return this.set("itemFlags").contains(arguments[0]);
+        case "addItemFlags":
+          this.set("itemFlags").addAll(Arrays.asList((Object[]) arguments[0]));
+          return null;
+        case "removeItemFlags":
+          this.set("itemFlags").removeAll(Arrays.asList((Object[]) arguments[0]));
+          return null;
+        case "hasConflictingEnchant":
+        case "hasConflictingStoredEnchant":
+          return false;
+        default:
+          return this.invokeProperty(method, name, arguments);
+      }
+    }
+
+    private Object invokeProperty(final Method method, final String name, final Object[] arguments) {
+      if (name.startsWith("add") && arguments.length == 3 && arguments[0] instanceof Enchantment) {
+        this.map(HeadlessMeta.plural(name.substring(3))).put(arguments[0], arguments[1]);
+        return true;
+      }
+      if (name.startsWith("add")) {
+        final var list = this.list(HeadlessMeta.plural(name.substring(3)));
+        for (final var argument : arguments) {
+          if (argument instanceof Object[]) {
+            list.addAll(Arrays.asList((Object[]) argument));
+          } else if (argument instanceof Iterable<?>) {
+            ((Iterable<?>) argument).forEach(list::add);
+          } else if (!(argument instanceof Boolean)) {
+            list.add(argument);
+          }
+        }
+        return method.getReturnType() == boolean.class ? true : null;
+      }
+      if (name.startsWith("remove") && arguments.length == 1) {
+        final var property = HeadlessMeta.plural(name.substring(6));
+        final var value = this.properties.get(property);
+        final boolean removed;
+        if (value instanceof Map<?, ?>) {
+          removed = ((Map<?, ?>) value).remove(arguments[0]) != null;
+        } else if (value instanceof List<?> && arguments[0] instanceof Integer) {
+          ((List<?>) value).remove((int) arguments[0]);
+          removed = true;
+        } else {
+          removed = value instanceof Collection<?> && ((Collection<?>) value).remove(arguments[0]);
+        }
+        return method.getReturnType() == boolean.class ? removed : null;
+      }
+      if (name.startsWith("clear") && arguments.length == 0) {
+        this.properties.remove(HeadlessMeta.decapitalize(name.substring(5)));
+        return null;
+      }
+      if (name.startsWith("has") && arguments.length == 1) {
+        final var value = this.properties.get(HeadlessMeta.plural(name.substring(3)));
+        return value instanceof Map<?, ?> && ((Map<?, ?>) value).containsKey(arguments[0]) ||
+          value instanceof Collection<?> && ((Collection<?>) value).contains(arguments[0]);
+      }
+      if (name.startsWith("has") && arguments.length == 0) {
+        final var value = this.properties.get(HeadlessMeta.decapitalize(name.substring(3)));
+        return value != null &&
+          !(value instanceof Collection<?> && ((Collection<?>) value).isEmpty()) &&
+          !(value instanceof Map<?, ?> && ((Map<?, ?>) value).isEmpty());
+      }
+      if (name.startsWith("set") && arguments.length == 1) {
+        this.properties.put(HeadlessMeta.decapitalize(name.substring(3)), HeadlessMeta.copyValue(arguments[0]));
+        return method.getReturnType() == boolean.class ? true : null;
+      }
+      if (name.startsWith("set") && arguments.length == 2 && arguments[0] instanceof Integer) {
+        this.list(HeadlessMeta.plural(name.substring(3))).set((int) arguments[0], arguments[1]);
+        return null;
+      }
+      if (name.startsWith("get") && arguments.length == 1 && arguments[0] instanceof Integer) {
+        return this.list(HeadlessMeta.plural(name.substring(3))).get((int) arguments[0]);
+      }
+      if (name.startsWith("get") && arguments.length == 1) {
+        final var level = this.map(HeadlessMeta.plural(name.substring(3)).replace("Levels", "s"))
+          .get(arguments[0]);
+        return level == null ? 0 : level;
+      }
+      if ((name.startsWith("get") || name.startsWith("is")) && arguments.length == 0) {
+        final var property = HeadlessMeta.decapitalize(name.substring(name.startsWith("get") ? 3 : 2));
+        final var value = this.properties.get(property);
+        if (value != null) {
+          return HeadlessMeta.copyValue(value);
+        }
+        if ("lore".equals(property.toLowerCase(Locale.ROOT))) {
+          return null;
+        }
+        return HeadlessBukkit.defaultValue(method.getReturnType());
+      }
+      return HeadlessBukkit.defaultValue(method.getReturnType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> list(final String property) {
+      return (List<Object>) this.properties.computeIfAbsent(property, key -> new ArrayList<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> map(final String property) {
+      return (Map<Object, Object>) this.properties.computeIfAbsent(property, key -> new LinkedHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Object> set(final String property) {
+      return (Set<Object>) this.properties.computeIfAbsent(property, key -> new HashSet<>());
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.headless;
+
+import com.cryptomorin.xseries.SkullUtils;
+import com.cryptomorin.xseries.XMaterial;
+import com.mojang.authlib.GameProfile;
+import io.github.portlek.bukkititembuilder.ItemStackBuilder;
+import io.github.portlek.bukkititembuilder.util.SkullTextureCache;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * benchmarks of building a textured skull through {@link SkullUtils#applySkin(org.bukkit.inventory.meta.ItemMeta,
+ * String)} against the skull item builder which injects the cached profile, and of the setter underneath them.
+ * <p>
+ * the build benchmarks need a craftbukkit server, their setup fails on {@link HeadlessBukkit} because the stand-in has
+ * no craftbukkit skull meta to inject a profile into, so the headless numbers only cover the setter benchmarks. those
+ * use a stand-in with the same private profile field and resolve the setter handle the way the skull profile accessor
+ * resolves it. every benchmark sets the same texture, the setters set the profile prepared by
+ * {@link SkullTextureCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SkullBenchmark {
+
+  private static final Field FIELD;
+
+  private static final MethodHandle SETTER;
+
+  private static final String TEXTURE = "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1" +
+    "cmUvNGY0ZTNjMWIyYThkN2U2ZjVhOWIwYzFkMmUzZjRhNWI2YzdkOGU5ZjBhMWIyYzNkNGU1ZjZhN2I4YzlkMGUxZiJ9fX0=";
+
+  private Meta meta;
+
+  private GameProfile profile;
+
+  static {
+    try {
+      FIELD = Meta.class.getDeclaredField("profile");
+      FIELD.setAccessible(true);
+      SETTER = MethodHandles.lookup().unreflectSetter(SkullBenchmark.FIELD)
+        .asType(MethodType.methodType(void.class, Meta.class, GameProfile.class));
+    } catch (final ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+      .include(SkullBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+
+  @Benchmark
+  public ItemStack applySkin(final Server server) {
+    final var itemStack = Objects.requireNonNull(XMaterial.PLAYER_HEAD.parseItem());
+    final var skullMeta = (SkullMeta) Objects.requireNonNull(itemStack.getItemMeta());
+    SkullUtils.applySkin(skullMeta, SkullBenchmark.TEXTURE);
+    itemStack.setItemMeta(skullMeta);
+    return itemStack;
+  }
+
+  @Benchmark
+  public Object methodHandle() throws Throwable {
+    SkullBenchmark.SETTER.invokeExact(this.meta, this.profile);
+    return this.meta;
+  }
+
+  @Benchmark
+  public Object reflective() throws IllegalAccessException {
+    SkullBenchmark.FIELD.set(this.meta, this.profile);
+    return this.meta;
+  }
+
+  @Benchmark
+  public ItemStack setOwner(final Server server) {
+    return ItemStackBuilder.from(XMaterial.PLAYER_HEAD)
+      .asSkull()
+      .setOwner(SkullBenchmark.TEXTURE)
+      .getItemStack();
+  }
+
+  @Setup
+  public void setup() {
+    SkullTextureCache.clear();
+    this.profile = SkullTextureCache.prepare(SkullBenchmark.TEXTURE);
+    this.meta = new Meta();
+  }
+
+  @State(Scope.Benchmark)
+  public static class Server {
+
+    @Setup
+    public void setup() {
+      HeadlessBukkit.install();
+      final var skullMeta = (SkullMeta) Objects.requireNonNull(XMaterial.PLAYER_HEAD.parseItem()).getItemMeta();
+      final var profile = SkullTextureCache.prepare(SkullBenchmark.TEXTURE);
+      if (skullMeta == null || profile == null || !SkullTextureCache.apply(skullMeta, profile)) {
+        throw new IllegalStateException("The skull build benchmarks need a craftbukkit server to inject a profile!");
+      }
+    }
+  }
+
+  private static final class Meta {
+
+    private GameProfile profile;
+  }
+}
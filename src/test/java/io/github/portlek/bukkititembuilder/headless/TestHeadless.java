@@ -0,0 +1,620 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.bukkititembuilder.headless;
+
+import io.github.portlek.bukkititembuilder.ItemStackBuilder;
+import io.github.portlek.bukkititembuilder.color.ColorRender;
+import io.github.portlek.bukkititembuilder.color.CustomColors;
+import io.github.portlek.bukkititembuilder.color.XColor;
+import io.github.portlek.bukkititembuilder.metrics.AllocationProfiler;
+import io.github.portlek.bukkititembuilder.metrics.JmxItemMetrics;
+import io.github.portlek.bukkititembuilder.metrics.Metrics;
+import io.github.portlek.bukkititembuilder.metrics.Phase;
+import io.github.portlek.bukkititembuilder.metrics.SlowBuildTracer;
+import io.github.portlek.bukkititembuilder.util.BulkConverter;
+import io.github.portlek.bukkititembuilder.util.DeltaUtil;
+import io.github.portlek.bukkititembuilder.util.ItemStackUtil;
+import io.github.portlek.bukkititembuilder.util.KeyUtil;
+import io.github.portlek.bukkititembuilder.util.PreparedItem;
+import io.github.portlek.bukkititembuilder.util.SkullTextureCache;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.bukkit.ChatColor;
+import org.bukkit.DyeColor;
+import org.bukkit.FireworkEffect;
+import org.bukkit.Material;
+import org.bukkit.block.banner.PatternType;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BannerMeta;
+import org.bukkit.inventory.meta.FireworkMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+final class TestHeadless {
+
+  private static final Pattern LEGACY_HEX_COLOR_NAME_LAST = Pattern.compile("(\\{#)([a-zA-Z_]{3,})(})(?!.*\\{#)");
+
+  private static final Pattern LEGACY_HEX_COLOR_REGEX_LAST =
+    Pattern.compile("(\\{#)([0-9A-Fa-f]{6}|[0-9A-Fa-f]{3})(})(?!.*\\{#)");
+
+  private static String legacyLastColors(final String text) {
+    final var replaced = XColor.deColorize(text);
+    var match = TestHeadless.LEGACY_HEX_COLOR_REGEX_LAST.matcher(replaced);
+    if (!match.find()) {
+      match = TestHeadless.LEGACY_HEX_COLOR_NAME_LAST.matcher(replaced);
+      if (!match.find()) {
+        return ChatColor.getLastColors(XColor.colorize(replaced));
+      }
+    }
+    final var color = match.group();
+    if (replaced.endsWith(color)) {
+      return color;
+    }
+    final var escaped = color.replace("#", "\\#").replace("{", "\\{").replace("}", "\\}");
+    final var last = TestHeadless.legacyLastColors(replaced.split(escaped, 2)[1]);
+    return last.isEmpty() ? color : last;
+  }
+
+  @BeforeAll
+  static void setup() {
+    HeadlessBukkit.install();
+  }
+
+  @Test
+  void allocationProfiler() {
+    if (!AllocationProfiler.isSupported()) {
+      return;
+    }
+    final var profiler = AllocationProfiler.install();
+    try {
+      ItemStackUtil.deserialize(KeyUtil.Holder.map(Map.of(
+        "material", "STONE",
+        "name", "&aStone",
+        "lore", List.of("&bFirst"))));
+      new Assertion<>(
+        "Couldn't attribute the allocations!",
+        profiler.getCount("ItemStackBuilder", Phase.DESERIALIZE_ITEM_STACK_BUILDER) == 1L &&
+          profiler.getCount("ItemStackBuilder", Phase.COLORIZE) > 0L &&
+          profiler.getCount("ItemStackBuilder", Phase.HOLDER_GET) > 0L &&
+          profiler.getInclusiveBytes("ItemStackBuilder", Phase.DESERIALIZE_ITEM_STACK_BUILDER) >=
+            profiler.getSelfBytes("ItemStackBuilder", Phase.DESERIALIZE_ITEM_STACK_BUILDER) &&
+          profiler.dump().contains("ItemStackBuilder\n"),
+        new IsTrue()
+      ).affirm();
+    } finally {
+      Metrics.reset();
+    }
+  }
+
+  @Test
+  void bulkConverter() throws Exception {
+    try (final var converter = BulkConverter.createPlatform(2, 2)) {
+      final var latch = new CountDownLatch(1);
+      converter.submit(() -> latch.await(1L, TimeUnit.MINUTES));
+      converter.submit(() -> latch.await(1L, TimeUnit.MINUTES));
+      final var producer = new Thread(() -> converter.submit(() -> true));
+      producer.start();
+      while (producer.getState() != Thread.State.WAITING && producer.isAlive()) {
+        Thread.onSpinWait();
+      }
+      new Assertion<>(
+        "Couldn't block the producer while the converter is full!",
+        converter.getSubmitted() == 2L && converter.getInFlight() == 2,
+        new IsTrue()
+      ).affirm();
+      latch.countDown();
+      producer.join();
+      final var failure = converter.submit(() -> {
+        throw new IllegalStateException("failure");
+      });
+      final var futures = new ArrayList<CompletableFuture<Integer>>();
+      for (var index = 0; index < 16; index++) {
+        final var value = index;
+        futures.add(converter.submit(() -> value));
+      }
+      final var results = new ArrayList<Integer>();
+      futures.forEach(future -> results.add(future.join()));
+      new Assertion<>(
+        "Couldn't complete the tasks!",
+        converter.awaitCompletion(Duration.ofMinutes(1L)) &&
+          failure.handle((result, throwable) -> throwable != null).join() &&
+          converter.getFailed() == 1L &&
+          converter.getCompleted() == 19L &&
+          results.equals(IntStream.range(0, 16).boxed().collect(Collectors.toList())),
+        new IsTrue()
+      ).affirm();
+    }
+  }
+
+  @Test
+  void colorize() {
+    new Assertion<>(
+      "Couldn't colored the string!",
+      XColor.colorize("&aTesty"),
+      new IsEqual<>(ChatColor.GREEN + "Testy")
+    ).affirm();
+  }
+
+  @Test
+  void colorizeHex() {
+    CustomColors.Navy_Blue.register();
+    new Assertion<>(
+      "Couldn't colored the hex codes!",
+      XColor.colorize("{#f0a}a{#123456}b{#123456}c{#navyblue}d"),
+      new IsEqual<>("§x§f§f§0§0§a§aa§x§1§2§3§4§5§6b§x§1§2§3§4§5§6c§x§0§0§0§0§8§0d")
+    ).affirm();
+    new Assertion<>(
+      "Couldn't encode the bukkit color code!",
+      new XColor("ABCDEF").getBukkitColorCode(),
+      new IsEqual<>("§x§A§B§C§D§E§F")
+    ).affirm();
+  }
+
+  @Test
+  void colorRender() {
+    ColorRender.clear();
+    final var render = ColorRender.of("{#55ffff}Aqua &lBold {#aa0000}Red");
+    new Assertion<>(
+      "Couldn't render the hex and legacy variants!",
+      render.getHex().equals(XColor.colorize("{#55ffff}Aqua &lBold {#aa0000}Red")) &&
+        render.getLegacy().equals(ChatColor.AQUA + "Aqua " + ChatColor.BOLD + "Bold " + ChatColor.DARK_RED + "Red") &&
+        render.get(false).equals(render.getLegacy()) &&
+        ColorRender.of("{#55ffff}Aqua &lBold {#aa0000}Red") == render &&
+        ColorRender.ofColored(render.getHex()) == ColorRender.ofColored(render.getHex()) &&
+        ColorRender.nearest(0xFFFFFF) == ChatColor.WHITE &&
+        ColorRender.getSize() == 2,
+      new IsTrue()
+    ).affirm();
+  }
+
+  @Test
+  void compositeMetrics() {
+    final var records = new ArrayList<LogRecord>();
+    final var logger = Logger.getAnonymousLogger();
+    logger.setUseParentHandlers(false);
+    logger.addHandler(new Handler() {
+      @Override
+      public void close() {
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void publish(final LogRecord record) {
+        records.add(record);
+      }
+    });
+    try (final var tracer = new SlowBuildTracer(Duration.ofNanos(1L), Duration.ofMillis(1L), 1, logger)) {
+      Metrics.add(tracer);
+      final var metrics = JmxItemMetrics.install();
+      try {
+        XColor.colorize("&aTesty");
+        new Assertion<>(
+          "Couldn't record the phases on every installed metrics!",
+          metrics.getStats(Phase.COLORIZE).getCount() == 1L &&
+            records.size() == 1 &&
+            records.get(0).getMessage().startsWith("Slow COLORIZE"),
+          new IsTrue()
+        ).affirm();
+      } finally {
+        metrics.unregister();
+      }
+      new Assertion<>(
+        "Couldn't keep the tracer after removing the jmx metrics!",
+        Metrics.get(),
+        new IsEqual<>(tracer)
+      ).affirm();
+    }
+    new Assertion<>(
+      "Couldn't remove the installed metrics!",
+      Metrics.isEnabled(),
+      new IsEqual<>(false)
+    ).affirm();
+  }
+
+  @Test
+  void customColors() {
+    CustomColors.registerAll();
+    final var navyBlue = XColor.getByCustomName("navy_blue").orElseThrow();
+    new Assertion<>(
+      "Couldn't look up the custom colors!",
+      navyBlue == CustomColors.Navy_Blue.getColor() &&
+        "000080".equals(navyBlue.getHexCode()) &&
+        XColor.getByCustomName("NavyBlue").orElseThrow() == navyBlue &&
+        XColor.getByHex("{#0000c8}").orElseThrow() == CustomColors.Dark_Blue.getColor() &&
+        XColor.getClosest("#000081") == navyBlue &&
+        XColor.getByCustomName("random").isPresent() &&
+        CustomColors.Dark_Blue.getRgb() == 0xC8L &&
+        CustomColors.Dark_Blue.isRegistered(),
+      new IsTrue()
+    ).affirm();
+  }
+
+  @Test
+  void deltaUtil() {
+    final var base = Map.<String, Object>of(
+      "material", "STONE",
+      "amount", 10,
+      "enchants", Map.of("DAMAGE_ALL", 3));
+    final var current = Map.<String, Object>of(
+      "material", "STONE",
+      "amount", 10L,
+      "enchants", Map.of("DAMAGE_ALL", 3L));
+    new Assertion<>(
+      "Couldn't compare the integral numbers by value!",
+      DeltaUtil.diff(base, current).isEmpty(),
+      new IsTrue()
+    ).affirm();
+    new Assertion<>(
+      "Couldn't compare the flags without their order!",
+      DeltaUtil.diff(
+        Map.of("material", "STONE", "flags", List.of("HIDE_ENCHANTS", "HIDE_ATTRIBUTES")),
+        Map.of("material", "STONE", "flags", List.of("HIDE_ATTRIBUTES", "HIDE_ENCHANTS"))).isEmpty(),
+      new IsTrue()
+    ).affirm();
+    var reserved = false;
+    try {
+      DeltaUtil.diff(base, Map.of(KeyUtil.REMOVED_KEY, "lore"));
+    } catch (final IllegalArgumentException e) {
+      reserved = true;
+    }
+    new Assertion<>(
+      "Couldn't reserve the removed key!",
+      reserved,
+      new IsTrue()
+    ).affirm();
+  }
+
+  @Test
+  void deserializeAsync() {
+    final var holder = Map.<String, Object>of(
+      "material", "WHITE_BANNER",
+      "name", "&aBanner",
+      "patterns", List.of("bs:red", "cre:blue"));
+    final var preparers = ConcurrentHashMap.<Thread>newKeySet();
+    final var itemStack = ItemStackUtil.deserializeAsync(KeyUtil.Holder.map(holder),
+      runnable -> {
+        final var thread = new Thread(runnable);
+        preparers.add(thread);
+        thread.start();
+      },
+      Runnable::run).join();
+    final var itemMeta = (BannerMeta) itemStack.getItemMeta();
+    new Assertion<>(
+      "Couldn't deserialize the item stack asynchronously!",
+      preparers.size() == 1 &&
+        !preparers.contains(Thread.currentThread()) &&
+        itemStack.getType() == Material.WHITE_BANNER &&
+        itemMeta.getDisplayName().equals(ChatColor.GREEN + "Banner") &&
+        itemMeta.getPatterns().equals(List.of(
+          new org.bukkit.block.banner.Pattern(DyeColor.RED, PatternType.BASE),
+          new org.bukkit.block.banner.Pattern(DyeColor.BLUE, PatternType.CREEPER))),
+      new IsTrue()
+    ).affirm();
+  }
+
+  @Test
+  void itemStackUtil() {
+    final var holder = Map.<String, Object>of(
+      "material", "DIAMOND_SWORD",
+      "amount", 2,
+      "name", "&aTest",
+      "lore", List.of("&bFirst", "&cSecond"),
+      "enchants", Map.of("DAMAGE_ALL", 3),
+      "flags", List.of("HIDE_ENCHANTS"));
+    final var itemStack = ItemStackUtil.deserialize(KeyUtil.Holder.map(holder)).orElseThrow();
+    final var itemMeta = itemStack.getItemMeta();
+    new Assertion<>(
+      "Couldn't deserialize the item stack!",
+      itemStack.getType() == Material.DIAMOND_SWORD &&
+        itemStack.getAmount() == 2 &&
+        itemMeta != null &&
+        itemMeta.getDisplayName().equals(ChatColor.GREEN + "Test") &&
+        itemMeta.getLore().equals(List.of(ChatColor.AQUA + "First", ChatColor.RED + "Second")) &&
+        itemMeta.hasItemFlag(ItemFlag.HIDE_ENCHANTS) &&
+        itemStack.getEnchantments().size() == 1,
+      new IsTrue()
+    ).affirm();
+    final var serialized = new HashMap<String, Object>();
+    ItemStackUtil.serialize(ItemStackBuilder.from(itemStack), KeyUtil.Holder.map(serialized));
+    new Assertion<>(
+      "Couldn't serialize the item stack!",
+      serialized,
+      new IsEqual<>(holder)
+    ).affirm();
+  }
+
+  @Test
+  void itemStackUtilContents() {
+    final var callers = ConcurrentHashMap.<Thread>newKeySet();
+    final var itemStack = new ItemStack(Material.DIAMOND, 3) {
+      @Override
+      public ItemMeta getItemMeta() {
+        callers.add(Thread.currentThread());
+        return super.getItemMeta();
+      }
+    };
+    final var itemMeta = itemStack.getItemMeta();
+    itemMeta.setDisplayName("Snapshot");
+    itemStack.setItemMeta(itemMeta);
+    callers.clear();
+    final var contents = new ItemStack[]{itemStack, null, new ItemStack(Material.AIR), new ItemStack(Material.STONE)};
+    final var future = ItemStackUtil.serialize(contents, runnable -> new Thread(runnable).start());
+    itemStack.setAmount(1);
+    final var serialized = future.join().getHolder();
+    new Assertion<>(
+      "Couldn't serialize the contents!",
+      serialized,
+      new IsEqual<>(Map.of(
+        "0", Map.of("material", "DIAMOND", "amount", 3, "name", "Snapshot"),
+        "3", Map.of("material", "STONE")))
+    ).affirm();
+    new Assertion<>(
+      "Couldn't fetch the item metas on the caller thread!",
+      callers,
+      new IsEqual<>(Set.of(Thread.currentThread()))
+    ).affirm();
+  }
+
+  @Test
+  void lastColors() {
+    final var texts = List.of(
+      "",
+      "&",
+      "plain",
+      "&aGreen",
+      "&aGreen &lBold",
+      "&a&l&oText",
+      "&lBold &cRed",
+      "&cRed &rReset &n",
+      "&x&lInvalid",
+      ChatColor.GREEN + "Already " + ChatColor.BOLD + "colored",
+      "{#ff0000}Hex",
+      "{#ff0000}Hex &bAqua",
+      "&b{#00ff00}Hex",
+      "{#ff0000}a{#0000ff}b",
+      "{#123456}Hex &rReset",
+      "{#ff0000>}Gradient{#0000ff<}");
+    for (final var text : texts) {
+      new Assertion<>(
+        String.format("Couldn't get the last colors of %s!", text),
+        XColor.getLastColors(text),
+        new IsEqual<>(TestHeadless.legacyLastColors(text))
+      ).affirm();
+    }
+    new Assertion<>(
+      "Couldn't keep the hex color in front of the formats!",
+      XColor.getLastColors("{#123456}&lBold"),
+      new IsEqual<>("{#123456}" + ChatColor.BOLD)
+    ).affirm();
+  }
+
+  @Test
+  void metrics() throws Exception {
+    final var server = ManagementFactory.getPlatformMBeanServer();
+    final var metrics = new JmxItemMetrics(server);
+    metrics.register();
+    Metrics.set(metrics);
+    try {
+      XColor.colorize("&aTesty");
+      ItemStackUtil.deserialize(KeyUtil.Holder.map(Map.of(
+        "material", "STONE",
+        "enchants", Map.of("DURABILITY", 3))));
+      new Assertion<>(
+        "Couldn't record the phases!",
+        metrics.getStats(Phase.COLORIZE).getCount() == 1L &&
+          metrics.getStats(Phase.DESERIALIZE_ITEM_STACK).getCount() > 0L &&
+          metrics.getStats(Phase.ENCHANT).getCount() == 1L &&
+          metrics.getStats(Phase.PARSE_MATERIAL).getCount() > 0L &&
+          (long) server.getAttribute(JmxItemMetrics.objectName(Phase.COLORIZE), "Count") == 1L,
+        new IsTrue()
+      ).affirm();
+    } finally {
+      metrics.unregister();
+    }
+    new Assertion<>(
+      "Couldn't uninstall the metrics!",
+      !Metrics.isEnabled() && !server.isRegistered(JmxItemMetrics.objectName(Phase.COLORIZE)),
+      new IsTrue()
+    ).affirm();
+  }
+
+  @Test
+  void preparedItem() {
+    final var holder = Map.<String, Object>of(
+      "material", "FIREWORK_ROCKET",
+      "amount", 3,
+      "name", "&aRocket",
+      "power", 2,
+      "firework", Map.of("0", Map.of(
+        "type", "BALL",
+        "flicker", true,
+        "colors", Map.of("base", List.of("#FF0000")))));
+    final var prepared = PreparedItem.prepare(KeyUtil.Holder.map(holder)).orElseThrow();
+    new Assertion<>(
+      "Couldn't prepare the item!",
+      prepared.getMaterial() == Material.FIREWORK_ROCKET &&
+        (ChatColor.GREEN + "Rocket").equals(prepared.getName()) &&
+        prepared.getFireworkEffects().size() == 1 &&
+        prepared.getFireworkEffects().get(0).getType() == FireworkEffect.Type.BALL,
+      new IsTrue()
+    ).affirm();
+    final var itemStack = prepared.apply();
+    final var itemMeta = (FireworkMeta) itemStack.getItemMeta();
+    new Assertion<>(
+      "Couldn't apply the prepared item!",
+      itemStack.getAmount() == 3 &&
+        itemMeta.getDisplayName().equals(ChatColor.GREEN + "Rocket") &&
+        itemMeta.getPower() == 2 &&
+        itemMeta.getEffects().equals(prepared.getFireworkEffects()),
+      new IsTrue()
+    ).affirm();
+    final var skull = KeyUtil.Holder.map(Map.of(
+      "material", "PLAYER_HEAD",
+      "skull", "Notch"));
+    var rejected = false;
+    try {
+      PreparedItem.prepare(skull);
+    } catch (final IllegalArgumentException e) {
+      rejected = true;
+    }
+    new Assertion<>(
+      "Couldn't reject the unresolved player name!",
+      rejected,
+      new IsTrue()
+    ).affirm();
+    new Assertion<>(
+      "Couldn't use the resolved owner texture!",
+      PreparedItem.prepare(skull, "http://textures.minecraft.net/texture/abc").orElseThrow().getSkullTexture(),
+      new IsEqual<>("http://textures.minecraft.net/texture/abc")
+    ).affirm();
+  }
+
+  @Test
+  void similar() {
+    final var first = ItemStackBuilder.from(Material.STONE)
+      .setName("&aStone")
+      .getItemStack();
+    final var second = ItemStackBuilder.from(new ItemStack(Material.STONE))
+      .setName("&aStone")
+      .getItemStack();
+    new Assertion<>(
+      "Couldn't compare the item stacks!",
+      first.isSimilar(second) && !first.isSimilar(new ItemStack(Material.STONE)),
+      new IsTrue()
+    ).affirm();
+  }
+
+  @Test
+  void skullTextureCache() {
+    SkullTextureCache.clear();
+    final var hash = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    final var first = SkullTextureCache.prepare(hash);
+    final var second = SkullTextureCache.prepare(hash);
+    final var value = first == null
+      ? ""
+      : new String(Base64.getDecoder().decode(first.getProperties().get("textures").iterator().next().getValue()),
+        StandardCharsets.UTF_8);
+    new Assertion<>(
+      "Couldn't count the skull texture cache hits and misses!",
+      first != null &&
+        first == second &&
+        value.contains("https://textures.minecraft.net/texture/" + hash) &&
+        SkullTextureCache.prepare("Notch") == null &&
+        SkullTextureCache.getHits() == 1L &&
+        SkullTextureCache.getMisses() == 1L &&
+        SkullTextureCache.getSize() == 1,
+      new IsTrue()
+    ).affirm();
+    SkullTextureCache.clear();
+  }
+
+  @Test
+  void slowBuildTracer() {
+    final var records = new ArrayList<LogRecord>();
+    final var logger = Logger.getAnonymousLogger();
+    logger.setUseParentHandlers(false);
+    logger.addHandler(new Handler() {
+      @Override
+      public void close() {
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void publish(final LogRecord record) {
+        records.add(record);
+      }
+    });
+    try (final var tracer = new SlowBuildTracer(Duration.ofNanos(1L), Duration.ofMillis(1L), 1, logger)) {
+      Metrics.set(tracer);
+      XColor.colorize("&aTesty");
+      XColor.colorize("&bTesty");
+      new Assertion<>(
+        "Couldn't trace the slow builds!",
+        records.size() == 1 &&
+          records.get(0).getMessage().startsWith("Slow COLORIZE") &&
+          records.get(0).getMessage().contains("subject: \"&aTesty\"") &&
+          records.get(0).getMessage().contains("GRADIENT 1x") &&
+          tracer.getSuppressed() == 1L,
+        new IsTrue()
+      ).affirm();
+    }
+    new Assertion<>(
+      "Couldn't uninstall the tracer!",
+      Metrics.isEnabled(),
+      new IsEqual<>(false)
+    ).affirm();
+  }
+
+  @Test
+  void wrap() {
+    final var lore = ItemStackBuilder.from(Material.STONE)
+      .setWrappedLore("&aHello &lworld this is a long line\n&cSupercalifragilistic", 10)
+      .getItemMeta()
+      .getLore();
+    final var green = ChatColor.GREEN.toString();
+    final var bold = ChatColor.BOLD.toString();
+    final var red = ChatColor.RED.toString();
+    new Assertion<>(
+      "Couldn't wrap the lore!",
+      lore,
+      new IsEqual<>(List.of(
+        green + "Hello",
+        green + bold + "world this",
+        green + bold + "is a long",
+        green + bold + "line",
+        red + "Supercalif",
+        red + "ragilistic"))
+    ).affirm();
+  }
+}